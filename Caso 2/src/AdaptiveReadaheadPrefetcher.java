@@ -0,0 +1,73 @@
+import java.nio.ByteBuffer;
+import java.util.*;
+
+public class AdaptiveReadaheadPrefetcher implements Prefetcher {
+    private int maxWindow;
+    private Map<Integer, int[]> streams;
+
+    public AdaptiveReadaheadPrefetcher(int maxWindow) {
+        this.maxWindow = maxWindow;
+        this.streams = new HashMap<>();
+    }
+
+    // Como el readahead de Linux: la ventana se duplica mientras los fallos sigan la secuencia
+    // y vuelve a una página cuando el acceso deja de ser secuencial.
+    @Override
+    public int[] selectPages(Process process, int faultPage) {
+        int[] stream = streams.get(process.getPid());
+        if (stream == null) {
+            stream = new int[] { -1, 0, -1 };
+            streams.put(process.getPid(), stream);
+        }
+        int lastFault = stream[0];
+        int window = stream[1];
+        int expectedNext = stream[2];
+
+        if (faultPage == lastFault + 1 || faultPage == expectedNext) {
+            window = Math.min(Math.max(1, window * 2), maxWindow);
+        } else {
+            window = 1;
+        }
+
+        int[] pages = new int[window];
+        for (int i = 0; i < window; i++) {
+            pages[i] = faultPage + i + 1;
+        }
+
+        stream[0] = faultPage;
+        stream[1] = window;
+        stream[2] = faultPage + window + 1;
+        return pages;
+    }
+
+    @Override
+    public String getName() {
+        return "adaptativo:" + maxWindow;
+    }
+
+    @Override
+    public int stateBytes() {
+        return Integer.BYTES + streams.size() * 4 * Integer.BYTES;
+    }
+
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        buffer.putInt(streams.size());
+        for (Map.Entry<Integer, int[]> entry : streams.entrySet()) {
+            buffer.putInt(entry.getKey());
+            for (int value : entry.getValue()) {
+                buffer.putInt(value);
+            }
+        }
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        streams.clear();
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            int pid = buffer.getInt();
+            streams.put(pid, new int[] { buffer.getInt(), buffer.getInt(), buffer.getInt() });
+        }
+    }
+}
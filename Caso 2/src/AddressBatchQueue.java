@@ -0,0 +1,109 @@
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class AddressBatchQueue {
+    private static final int SPINS_BEFORE_PARK = 100;
+
+    private final int[][] batches;
+    private final int[] lengths;
+    private final int mask;
+    private final AtomicLong head;
+    private final AtomicLong tail;
+    private volatile boolean closed;
+    private volatile boolean cancelled;
+
+    // Estado privado del productor
+    private int[] writeBatch;
+    private int writeCount;
+
+    // Estado privado del consumidor
+    private int[] readBatch;
+    private int readLength;
+    private int readIndex;
+
+    public AddressBatchQueue(int capacity, int batchSize) {
+        int slots = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        this.batches = new int[slots][batchSize];
+        this.lengths = new int[slots];
+        this.mask = slots - 1;
+        this.head = new AtomicLong();
+        this.tail = new AtomicLong();
+    }
+
+    public void add(int address) {
+        if (writeBatch == null) {
+            writeBatch = acquireWriteSlot();
+            writeCount = 0;
+        }
+        writeBatch[writeCount++] = address;
+        if (writeCount == writeBatch.length) {
+            publish();
+        }
+    }
+
+    public void close() {
+        if (writeBatch != null) {
+            publish();
+        }
+        closed = true;
+    }
+
+    // Lado del consumidor: el productor deja de generar en cuanto necesita un lote nuevo.
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public int next() {
+        if (readBatch != null && readIndex == readLength) {
+            head.lazySet(head.get() + 1);
+            readBatch = null;
+        }
+        if (readBatch == null) {
+            long current = head.get();
+            int spins = 0;
+            while (current == tail.get()) {
+                if (cancelled || (closed && current == tail.get())) {
+                    return -1;
+                }
+                spins = await(spins);
+            }
+            int slot = (int) current & mask;
+            readBatch = batches[slot];
+            readLength = lengths[slot];
+            readIndex = 0;
+        }
+        return readBatch[readIndex++];
+    }
+
+    private int[] acquireWriteSlot() {
+        long current = tail.get();
+        int spins = 0;
+        while (current - head.get() > mask) {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            spins = await(spins);
+        }
+        if (cancelled) {
+            throw new CancellationException();
+        }
+        return batches[(int) current & mask];
+    }
+
+    private void publish() {
+        long current = tail.get();
+        lengths[(int) current & mask] = writeCount;
+        tail.lazySet(current + 1);
+        writeBatch = null;
+    }
+
+    private int await(int spins) {
+        if (spins < SPINS_BEFORE_PARK) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(1_000);
+        }
+        return spins + 1;
+    }
+}
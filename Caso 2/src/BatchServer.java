@@ -0,0 +1,75 @@
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+
+public class BatchServer {
+    private VirtualMemorySimulator simulator;
+
+    public BatchServer(VirtualMemorySimulator simulator) {
+        this.simulator = simulator;
+    }
+
+    // Cada línea es una invocación completa (por ejemplo "-s 3 12" o "-g config.properties") que se
+    // ejecuta en la misma JVM, reutilizando las clases ya cargadas y el código ya compilado por el JIT.
+    public void serveStdin() {
+        try {
+            serve(new BufferedReader(new InputStreamReader(System.in)));
+        } catch (IOException e) {
+            System.out.println("Error leyendo trabajos: " + e.getMessage());
+        }
+    }
+
+    // Las conexiones se atienden de una en una porque la salida de la simulación va por System.out.
+    public void serveSocket(int port) {
+        PrintStream console = System.out;
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            console.println("Servidor escuchando en 127.0.0.1:" + port);
+            while (true) {
+                try (Socket client = server.accept()) {
+                    PrintStream output = new PrintStream(client.getOutputStream(), true, StandardCharsets.UTF_8);
+                    System.setOut(output);
+                    serve(new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8)));
+                    output.flush();
+                } catch (IOException e) {
+                    console.println("Error atendiendo conexión: " + e.getMessage());
+                } finally {
+                    System.setOut(console);
+                }
+            }
+        } catch (IOException e) {
+            console.println("Error abriendo el puerto " + port + ": " + e.getMessage());
+        }
+    }
+
+    private void serve(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.equals("salir")) {
+                break;
+            }
+
+            long start = System.nanoTime();
+            String[] args = line.split("\\s+");
+            if (takesOverStreams(args[0])) {
+                System.out.println("Error: " + args[0] + " no se puede usar dentro de --batch ni --servidor");
+            } else {
+                try {
+                    simulator.execute(args);
+                } catch (RuntimeException e) {
+                    System.out.println("Error: " + e);
+                }
+            }
+            System.out.println("FIN " + String.format("%.1f ms", (System.nanoTime() - start) / 1_000_000.0));
+            System.out.flush();
+        }
+    }
+
+    // Estos modos leen stdin o cambian System.out por su cuenta y se quedarían con el servidor.
+    private static boolean takesOverStreams(String mode) {
+        return mode.equals("--worker") || mode.equals("--batch") || mode.equals("--servidor");
+    }
+}
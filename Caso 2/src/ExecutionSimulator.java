@@ -5,6 +5,74 @@ public class ExecutionSimulator {
     private MemoryManager memoryManager;
     private Map<Integer, Process> processes;
     private LRUReplacementPolicy lruPolicy;
+    private SimulationCheckpoint checkpoint;
+    private String resumeFile;
+    private boolean batchRuns = true;
+    private Prefetcher prefetcher;
+    private TimingModel timingModel;
+    private Map<Integer, BitSet> sharedRegions;
+    private MemoryTiers tiers;
+    private long migratedPages;
+    private Map<Integer, Long> completionTimes;
+    private long simulatedTime;
+    private long cpuBusyTime;
+    private long totalAccessTime;
+    private long clockTime;
+
+    public void setCheckpointFile(String filename, int intervalSeconds) {
+        this.checkpoint = new SimulationCheckpoint(filename, intervalSeconds);
+    }
+
+    public void setResumeFile(String filename) {
+        this.resumeFile = filename;
+    }
+
+    public void setPrefetcher(Prefetcher prefetcher) {
+        this.prefetcher = prefetcher;
+    }
+
+    public void setTimingModel(TimingModel timingModel) {
+        this.timingModel = timingModel;
+    }
+
+    public void setMemoryTiers(MemoryTiers tiers) {
+        this.tiers = tiers;
+    }
+
+    public void loadSharedRegions(String filename) throws IOException {
+        Properties props = new Properties();
+        try (FileInputStream input = new FileInputStream(filename)) {
+            props.load(input);
+        }
+
+        sharedRegions = new HashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            if (!key.startsWith("P")) {
+                continue;
+            }
+            int processId = Integer.parseInt(key.substring(1));
+            BitSet pages = new BitSet();
+            for (String range : props.getProperty(key).split(",")) {
+                String[] bounds = range.trim().split("-");
+                int first, last;
+                try {
+                    first = Integer.parseInt(bounds[0].trim());
+                    last = (bounds.length > 1) ? Integer.parseInt(bounds[1].trim()) : first;
+                } catch (NumberFormatException e) {
+                    first = last = -1;
+                }
+                if (bounds.length > 2 || first < 0 || last < first || last == Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("rango de páginas inválido en " + key + ": " + range.trim());
+                }
+                pages.set(first, last + 1);
+            }
+            sharedRegions.put(processId, pages);
+        }
+    }
+
+    public void setBatchRuns(boolean batchRuns) {
+        this.batchRuns = batchRuns;
+    }
 
     public void simulate(int numProcesses, int totalFrames) {
         this.processes = new HashMap<>();
@@ -21,14 +89,103 @@ public class ExecutionSimulator {
             return;
         }
 
+        run(totalFrames);
+    }
+
+    public void simulatePipelined(String configFile, int totalFrames) {
+        ReferenceGenerator generator = new ReferenceGenerator();
+        this.processes = generator.generatePipelined(configFile);
+        if (processes == null) {
+            return;
+        }
+
+        if (totalFrames % processes.size() != 0) {
+            System.out.println("Error: El número de marcos debe ser múltiplo del número de procesos");
+            return;
+        }
+
+        generator.startProducers();
+        try {
+            run(totalFrames);
+        } finally {
+            generator.cancelProducers();
+        }
+    }
+
+    public void simulateProcesses(Map<Integer, Process> processes, int totalFrames) {
+        this.processes = processes;
+
+        if (totalFrames % processes.size() != 0) {
+            System.out.println("Error: El número de marcos debe ser múltiplo del número de procesos");
+            return;
+        }
+
+        run(totalFrames);
+    }
+
+    private void run(int totalFrames) {
+        if (timingModel != null && (checkpoint != null || resumeFile != null)) {
+            System.out.println("Error: El modelo de tiempos no admite checkpoints");
+            return;
+        }
+
+        if (sharedRegions != null && (checkpoint != null || resumeFile != null)) {
+            System.out.println("Error: Las páginas compartidas no admiten checkpoints");
+            return;
+        }
+
+        if (tiers != null && (timingModel != null || checkpoint != null || resumeFile != null)) {
+            System.out.println("Error: Los niveles de memoria no admiten --tiempos ni checkpoints");
+            return;
+        }
+
+        if (tiers != null && tiers.getTotalFrames() != totalFrames) {
+            System.out.println("Error: Los niveles de memoria suman " + tiers.getTotalFrames() +
+                    " marcos y la simulación usa " + totalFrames);
+            return;
+        }
+
+        int numProcesses = processes.size();
         this.memoryManager = new MemoryManager(totalFrames, processes);
+        memoryManager.setTiers(tiers);
 
-        int framesPerProcess = totalFrames / numProcesses;
-        for (Process process : processes.values()) {
-            memoryManager.initializeProcessFrames(process.getPid(), framesPerProcess);
+        if (sharedRegions != null) {
+            for (Map.Entry<Integer, BitSet> region : sharedRegions.entrySet()) {
+                Process process = processes.get(region.getKey());
+                if (process == null) {
+                    continue;
+                }
+                if (process.getPageSize() != processes.get(0).getPageSize()) {
+                    System.out.println("Error: Para compartir páginas todos los procesos deben usar el mismo tamaño de página");
+                    return;
+                }
+                memoryManager.setSharedRegion(process.getPid(), region.getValue());
+            }
+        }
+
+        Queue<Process> processQueue = new LinkedList<>(processes.values());
+        long cycle = 0;
+
+        if (resumeFile != null) {
+            try {
+                cycle = SimulationCheckpoint.restore(resumeFile, processes, processQueue, memoryManager, prefetcher);
+                System.out.println("Reanudando desde " + resumeFile + " en el ciclo " + cycle + ".");
+            } catch (IOException e) {
+                System.out.println("Error reanudando checkpoint " + resumeFile + ": " + e.getMessage());
+                return;
+            }
+        } else {
+            int framesPerProcess = totalFrames / numProcesses;
+            for (Process process : processes.values()) {
+                memoryManager.initializeProcessFrames(process.getPid(), framesPerProcess);
+            }
         }
 
-        simulateRoundRobin();
+        if (timingModel != null) {
+            simulateTimed(processQueue);
+        } else {
+            simulateRoundRobin(processQueue, cycle);
+        }
         showStatistics();
     }
 
@@ -55,7 +212,8 @@ public class ExecutionSimulator {
 
         BufferedReader reader = new BufferedReader(new FileReader(filename));
         int pageSize = 4096, numRows = 0, numCols = 0;
-        List<Integer> addresses = new ArrayList<>();
+        long numReferences = 0;
+        TraceStore addresses = null;
         String line;
 
         while ((line = reader.readLine()) != null) {
@@ -65,7 +223,10 @@ public class ExecutionSimulator {
                 numRows = Integer.parseInt(line.split(":")[1].trim());
             } else if (line.startsWith("NC:")) {
                 numCols = Integer.parseInt(line.split(":")[1].trim());
+            } else if (line.startsWith("NR:")) {
+                numReferences = Long.parseLong(line.split(":")[1].trim());
             } else if (line.startsWith("Direcciones:")) {
+                addresses = new TraceStore(numReferences);
                 while ((line = reader.readLine()) != null) {
                     if (!line.trim().isEmpty()) {
                         addresses.add(Integer.parseInt(line.trim()));
@@ -76,18 +237,40 @@ public class ExecutionSimulator {
         reader.close();
 
         Process process = new Process(processId, pageSize, numRows, numCols);
-        process.setVirtualAddresses(addresses);
+        if (addresses != null) {
+            process.setTrace(addresses);
+        }
         return process;
     }
 
-    private void simulateRoundRobin() {
-        Queue<Process> processQueue = new LinkedList<>(processes.values());
+    private void simulateRoundRobin(Queue<Process> processQueue, long cycle) {
         List<Process> completedProcesses = new ArrayList<>();
-        int cycle = 0;
 
         System.out.println("Iniciando simulación...");
 
+        long nextReport = (cycle / 1000 + 1) * 1000;
+        long nextRunCheck = cycle;
+        long migrationInterval = (tiers != null) ? tiers.getMigrationInterval() : 0;
+        long nextMigration = (migrationInterval > 0) ? cycle + migrationInterval : Long.MAX_VALUE;
+
         while (!processQueue.isEmpty()) {
+            if (batchRuns && cycle >= nextRunCheck) {
+                // Los saltos no cruzan una pasada de migración para que los bits de referencia sean los mismos.
+                long skipped = skipRunHits(processQueue, nextMigration - cycle);
+                if (skipped > 0) {
+                    cycle += skipped;
+                } else {
+                    nextRunCheck = cycle + processQueue.size();
+                }
+            }
+
+            if (cycle >= nextMigration) {
+                for (Process process : processQueue) {
+                    migratedPages += memoryManager.migratePages(process.getPid());
+                }
+                nextMigration = cycle + migrationInterval;
+            }
+
             Process currentProcess = processQueue.poll();
             cycle++;
 
@@ -106,33 +289,245 @@ public class ExecutionSimulator {
                 }
             }
 
-            if (cycle % 1000 == 0) {
+            if (cycle >= nextReport) {
                 System.out.println("Ciclo: " + cycle + ", Procesos activos: " + processQueue.size());
+                if (checkpoint != null && checkpoint.isDue()) {
+                    saveCheckpoint(cycle, processQueue);
+                }
+                nextReport = (cycle / 1000 + 1) * 1000;
             }
         }
 
         System.out.println("Simulación completada en " + cycle + " ciclos.");
     }
 
+    // Simulación por eventos discretos con una CPU y un dispositivo de SWAP que atiende los fallos en orden.
+    // Un proceso corre hasta agotar su quantum, terminar o fallar; al fallar se bloquea hasta que el
+    // dispositivo termina de servir el fallo y mientras tanto la CPU atiende a los demás procesos.
+    private void simulateTimed(Queue<Process> readyQueue) {
+        PriorityQueue<TimedEvent> events = new PriorityQueue<>();
+        completionTimes = new TreeMap<>();
+        long now = 0;
+        long deviceFreeAt = 0;
+        long sequence = 0;
+        boolean cpuBusy = false;
+
+        memoryManager.setClock(() -> clockTime);
+        System.out.println("Iniciando simulación por eventos...");
+
+        while (!readyQueue.isEmpty() || !events.isEmpty()) {
+            if (!cpuBusy && !readyQueue.isEmpty()) {
+                Process process = readyQueue.poll();
+                TimedEvent sliceEnd = runSlice(process, now, sequence++);
+                cpuBusyTime += sliceEnd.time - now;
+                events.add(sliceEnd);
+                cpuBusy = true;
+                continue;
+            }
+
+            TimedEvent event = events.poll();
+            now = event.time;
+
+            if (event.type == TimedEvent.CPU_FREE) {
+                cpuBusy = false;
+                if (event.serviceTime >= 0) {
+                    long serviceStart = Math.max(now, deviceFreeAt);
+                    deviceFreeAt = serviceStart + event.serviceTime;
+                    TimedEvent faultDone = new TimedEvent(deviceFreeAt, sequence++, TimedEvent.FAULT_DONE, event.process);
+                    faultDone.blockedAt = now;
+                    events.add(faultDone);
+                } else if (event.process.hasMoreAddresses()) {
+                    readyQueue.add(event.process);
+                } else {
+                    completeTimed(event.process, now);
+                }
+            } else {
+                totalAccessTime += now - event.blockedAt;
+                if (event.process.hasMoreAddresses()) {
+                    readyQueue.add(event.process);
+                } else {
+                    completeTimed(event.process, now);
+                }
+            }
+        }
+
+        simulatedTime = now;
+        System.out.println("Simulación completada en " + formatNanos(simulatedTime) + " simulados.");
+    }
+
+    private TimedEvent runSlice(Process process, long start, long sequence) {
+        long time = start;
+        long sliceEnd = start + timingModel.getQuantum();
+        long hitCost = timingModel.getHitCost();
+
+        while (time < sliceEnd && process.hasMoreAddresses()) {
+            clockTime = time;
+            long run = batchRuns ? process.getRunRemaining() : 0;
+            if (run > 0 && isPureHitRun(process)) {
+                long hits = Math.min(run, (sliceEnd - time + hitCost - 1) / hitCost);
+                PageTable.PageTableEntry entry = process.getPageTable().getEntry(process.getCurrentRunPage());
+                entry.setLastAccessTime(memoryManager.currentTime());
+                if (process.isCurrentRunWrite()) {
+                    entry.setModified(true);
+                }
+                process.notifyPageHit(entry);
+                process.skipReferences(hits);
+                time += hits * hitCost;
+                totalAccessTime += hits * hitCost;
+                continue;
+            }
+
+            long swapBefore = totalSwapAccesses();
+            long readsBefore = process.getPageFaults() + process.getPrefetchedPages();
+            boolean pageFault = handleMemoryAccess(process, process.getNextAddress());
+            time += hitCost;
+            totalAccessTime += hitCost;
+
+            if (pageFault) {
+                long swapReads = process.getPageFaults() + process.getPrefetchedPages() - readsBefore;
+                long swapWrites = Math.max(0, totalSwapAccesses() - swapBefore - swapReads);
+                TimedEvent blocked = new TimedEvent(time, sequence, TimedEvent.CPU_FREE, process);
+                blocked.serviceTime = timingModel.getFaultServiceTime(swapReads, swapWrites);
+                return blocked;
+            }
+        }
+
+        return new TimedEvent(time, sequence, TimedEvent.CPU_FREE, process);
+    }
+
+    private long totalSwapAccesses() {
+        long total = 0;
+        for (Process process : processes.values()) {
+            total += process.getSwapAccesses();
+        }
+        return total;
+    }
+
+    private void completeTimed(Process process, long time) {
+        completionTimes.put(process.getPid(), time);
+        memoryManager.freeProcessFrames(process.getPid());
+        System.out.println("Proceso " + process.getPid() + " completado en " + formatNanos(time) + ".");
+    }
+
+    private static String formatNanos(long nanos) {
+        return String.format("%.3f ms", nanos / 1_000_000.0);
+    }
+
+    // Cada vuelta de la cola atiende una referencia por proceso. Mientras todos los procesos estén dentro
+    // de una racha sobre una página presente, esas vueltas solo producen aciertos y no cambian el estado de la
+    // memoria, así que se pueden contar de una vez con el mismo resultado que referencia a referencia.
+    private long skipRunHits(Queue<Process> processQueue, long maxReferences) {
+        long hits = Long.MAX_VALUE;
+        for (Process process : processQueue) {
+            long remaining = process.getRunRemaining();
+            if (remaining == 0 || !isPureHitRun(process)) {
+                return 0;
+            }
+            // La última referencia de cada proceso pasa por el camino normal para liberar sus marcos.
+            hits = Math.min(hits, Math.min(remaining, process.getRemainingReferences() - 1));
+        }
+        hits = Math.min(hits, maxReferences / processQueue.size());
+        if (hits <= 0) {
+            return 0;
+        }
+
+        for (Process process : processQueue) {
+            PageTable.PageTableEntry entry = process.getPageTable().getEntry(process.getCurrentRunPage());
+            entry.setLastAccessTime(memoryManager.currentTime());
+            if (process.isCurrentRunWrite()) {
+                entry.setModified(true);
+            }
+            process.notifyPageHit(entry);
+            process.skipReferences(hits);
+            if (tiers != null) {
+                tiers.recordAccesses(entry.getPhysicalFrame(), hits);
+            }
+        }
+        return hits * processQueue.size();
+    }
+
+    private boolean isPureHitRun(Process process) {
+        int page = process.getCurrentRunPage();
+        if (!process.getPageTable().isPagePresent(page)) {
+            return false;
+        }
+        // La primera escritura sobre una página compartida provoca copy-on-write: no es un acierto.
+        return !process.isCurrentRunWrite() || !memoryManager.isSharedMapping(process.getPid(),
+                process.getPageTable().getPhysicalFrame(page));
+    }
+
+    private void saveCheckpoint(long cycle, Queue<Process> processQueue) {
+        try {
+            checkpoint.save(cycle, processes, processQueue, memoryManager, prefetcher);
+        } catch (IOException e) {
+            System.out.println("Error guardando checkpoint: " + e.getMessage());
+        }
+    }
+
     private boolean handleMemoryAccess(Process process, int virtualAddress) {
         int pageNumber = virtualAddress / process.getPageSize();
         PageTable.PageTableEntry entry = process.getPageTable().getEntry(pageNumber);
 
         if (entry.isPresent()) {
-            entry.setLastAccessTime(System.nanoTime());
+            if (memoryManager.isSharingEnabled() && process.isWriteAddress(virtualAddress)
+                    && memoryManager.isSharedMapping(process.getPid(), entry.getPhysicalFrame())) {
+                int sharedFrame = entry.getPhysicalFrame();
+                // Solo es gratis si el que escribe es el dueño del marco y nadie más lo usa; si no, hay copia.
+                boolean inPlace = memoryManager.isSoleOwner(process.getPid(), sharedFrame);
+                int privateFrame = memoryManager.copyOnWrite(process.getPid(), pageNumber, sharedFrame);
+                if (!inPlace) {
+                    process.incrementCowFaults();
+                    if (privateFrame != -1) {
+                        process.getPageTable().setPagePresent(pageNumber, privateFrame);
+                        entry.setModified(true);
+                    } else {
+                        entry.setPresent(false);
+                        entry.setPhysicalFrame(null);
+                    }
+                    return true; // Copy-on-write
+                }
+            }
+
+            entry.setLastAccessTime(memoryManager.currentTime());
+            if (process.isWriteAddress(virtualAddress)) {
+                entry.setModified(true);
+            }
+            process.notifyPageHit(entry);
+            if (tiers != null) {
+                tiers.recordAccesses(entry.getPhysicalFrame(), 1);
+            }
             return false; // Hit
         } else {
+            if (memoryManager.isSharedPage(process.getPid(), pageNumber)) {
+                int sharedFrame = memoryManager.attachSharedPage(process.getPid(), pageNumber);
+                if (sharedFrame != -1) {
+                    process.incrementSharedMappings();
+                    process.getPageTable().setPagePresent(pageNumber, sharedFrame);
+                    return true; // Fallo menor: la página ya estaba en un marco compartido
+                }
+            }
+
             process.incrementPageFaults();
             process.incrementSwapAccesses();
 
             int physicalFrame = memoryManager.allocateFrame(process.getPid(), pageNumber);
             if (physicalFrame != -1) {
                 process.getPageTable().setPagePresent(pageNumber, physicalFrame);
+                if (memoryManager.isSharedPage(process.getPid(), pageNumber)) {
+                    // Queda limpia: la escritura siguiente hará la copia privada.
+                    memoryManager.registerSharedFrame(process.getPid(), pageNumber, physicalFrame);
+                } else if (process.isWriteAddress(virtualAddress)) {
+                    entry.setModified(true);
+                }
 
                 if (physicalFrame == -2) {
                     process.addSwapAccesses(1);
                 }
 
+                if (prefetcher != null) {
+                    prefetchPages(process, pageNumber);
+                }
+
                 return true; // Page fault, reintentar
             }
 
@@ -140,6 +535,29 @@ public class ExecutionSimulator {
         }
     }
 
+    private void prefetchPages(Process process, int faultPage) {
+        // Nunca se adelantan más páginas que marcos tiene el proceso, para no expulsar la página que falló.
+        int budget = memoryManager.getProcessFrames(process.getPid()).size() - 1;
+        PageTable pageTable = process.getPageTable();
+
+        for (int page : prefetcher.selectPages(process, faultPage)) {
+            if (budget <= 0) {
+                break;
+            }
+            if (page < 0 || page >= process.getNumVirtualPages() || pageTable.isPagePresent(page)
+                    || memoryManager.isSharedPage(process.getPid(), page)) {
+                continue;
+            }
+
+            int physicalFrame = memoryManager.allocateFrame(process.getPid(), page);
+            if (physicalFrame != -1) {
+                pageTable.setPagePresent(page, physicalFrame);
+                process.notifyPagePrefetched(page);
+                budget--;
+            }
+        }
+    }
+
     private void showStatistics() {
         System.out.println("\n" + "=".repeat(60));
         System.out.println("ESTADÍSTICAS FINALES DE SIMULACIÓN");
@@ -153,24 +571,151 @@ public class ExecutionSimulator {
             System.out.println("  Accesos a SWAP: " + process.getSwapAccesses());
             System.out.println("  Tasa de fallos: " + String.format("%.2f%%", process.getPageFaultRate() * 100));
             System.out.println("  Tasa de éxito: " + String.format("%.2f%%", process.getHitRate() * 100));
+            if (memoryManager.isSharingEnabled()) {
+                System.out.println("  Fallos menores (páginas compartidas): " + process.getSharedMappings());
+                System.out.println("  Fallos COW: " + process.getCowFaults());
+            }
+            if (prefetcher != null) {
+                System.out.println("  Prefetch: " + process.getPrefetchedPages() + " páginas, " +
+                        process.getUsefulPrefetches() + " útiles, " +
+                        process.getWastedPrefetches() + " desperdiciadas");
+            }
+        }
+
+        if (prefetcher != null) {
+            showPrefetchSummary();
+        }
+        if (timingModel != null) {
+            showTimingSummary();
+        }
+        if (memoryManager.isSharingEnabled()) {
+            showSharingSummary();
+        }
+        if (tiers != null) {
+            showTierSummary();
         }
 
         showLocalityAnalysis();
         showFrameUsage();
     }
 
+    private void showPrefetchSummary() {
+        System.out.println("\n" + "=".repeat(40));
+        System.out.println("PREFETCH (" + prefetcher.getName() + ")");
+        System.out.println("=".repeat(40));
+
+        long prefetched = 0, useful = 0, wasted = 0, faults = 0;
+        for (Process process : processes.values()) {
+            prefetched += process.getPrefetchedPages();
+            useful += process.getUsefulPrefetches();
+            wasted += process.getWastedPrefetches();
+            faults += process.getPageFaults();
+        }
+
+        System.out.println("Páginas adelantadas (lecturas extra de SWAP): " + prefetched);
+        System.out.println("Útiles (fallos evitados): " + useful);
+        System.out.println("Desperdiciadas: " + wasted);
+        if (prefetched > 0) {
+            System.out.println("Precisión: " + String.format("%.2f%%", (double) useful / prefetched * 100));
+        }
+        System.out.println("Fallos de página restantes: " + faults);
+    }
+
+    private void showSharingSummary() {
+        System.out.println("\n" + "=".repeat(40));
+        System.out.println("PÁGINAS COMPARTIDAS");
+        System.out.println("=".repeat(40));
+
+        long sharedMappings = 0, cowFaults = 0;
+        for (Process process : processes.values()) {
+            sharedMappings += process.getSharedMappings();
+            cowFaults += process.getCowFaults();
+        }
+        long pageSize = processes.get(0).getPageSize();
+
+        System.out.println("Mapeos a marcos compartidos: " + sharedMappings);
+        System.out.println("Fallos COW: " + cowFaults);
+        System.out.println("Marcos ahorrados (pico): " + memoryManager.getPeakFramesSaved() +
+                " (" + memoryManager.getPeakFramesSaved() * pageSize + " bytes)");
+    }
+
+    private void showTierSummary() {
+        System.out.println("\n" + "=".repeat(40));
+        System.out.println("NIVELES DE MEMORIA (colocación " + tiers.getPlacement() + ")");
+        System.out.println("=".repeat(40));
+
+        long totalAccesses = 0, accessCost = 0;
+        for (int tier = 0; tier < tiers.getTierCount(); tier++) {
+            totalAccesses += tiers.getAccesses(tier);
+            accessCost += tiers.getAccesses(tier) * tiers.getAccessCost(tier);
+        }
+
+        for (int tier = 0; tier < tiers.getTierCount(); tier++) {
+            long accesses = tiers.getAccesses(tier);
+            long cost = accesses * tiers.getAccessCost(tier);
+            System.out.println(tiers.getName(tier) + " (" + tiers.getFrameCount(tier) + " marcos, " +
+                    tiers.getAccessCost(tier) + " ns):");
+            System.out.println("  Accesos: " + accesses + (totalAccesses > 0 ?
+                    String.format(" (%.2f%%)", (double) accesses / totalAccesses * 100) : ""));
+            System.out.println("  Páginas cargadas: " + tiers.getLoads(tier));
+            System.out.println("  Páginas promovidas: " + tiers.getPromotions(tier) +
+                    ", degradadas: " + tiers.getDemotions(tier));
+            System.out.println("  Costo de accesos: " + formatNanos(cost));
+        }
+
+        long migrationCost = migratedPages * tiers.getMigrationCost();
+        System.out.println("Páginas migradas: " + migratedPages + " (" + formatNanos(migrationCost) + ")");
+        if (totalAccesses > 0) {
+            System.out.println("Costo medio por acceso: " + String.format("%.1f ns",
+                    (double) (accessCost + migrationCost) / totalAccesses));
+        }
+    }
+
+    private void showTimingSummary() {
+        System.out.println("\n" + "=".repeat(40));
+        System.out.println("MODELO DE TIEMPOS");
+        System.out.println("=".repeat(40));
+
+        long references = 0;
+        for (Process process : processes.values()) {
+            references += process.getTotalReferences();
+            Long completion = completionTimes.get(process.getPid());
+            System.out.println("Proceso " + process.getPid() + ": completado en " +
+                    (completion != null ? formatNanos(completion) : "-"));
+        }
+
+        System.out.println("Tiempo total simulado: " + formatNanos(simulatedTime));
+        if (simulatedTime > 0) {
+            System.out.println("Utilización de CPU: " +
+                    String.format("%.2f%%", (double) cpuBusyTime / simulatedTime * 100));
+            System.out.println("Throughput: " +
+                    String.format("%.0f referencias/s", references / (simulatedTime / 1_000_000_000.0)));
+        }
+        if (references > 0) {
+            System.out.println("Tiempo efectivo de acceso: " +
+                    String.format("%.1f ns", (double) totalAccessTime / references));
+        }
+    }
+
     private void showLocalityAnalysis() {
         System.out.println("\n" + "=".repeat(40));
         System.out.println("ANÁLISIS DE LOCALIDAD");
         System.out.println("=".repeat(40));
 
+        for (Process process : processes.values()) {
+            if (process.isStreamed()) {
+                System.out.println("No disponible en modo pipeline: las direcciones no se conservan en memoria.");
+                return;
+            }
+        }
+
         LocalityAnalyzer analyzer = new LocalityAnalyzer();
         analyzer.analyzeAllProcesses(processes);
     }
 
     private void showFrameUsage() {
         System.out.println("\n" + "=".repeat(40));
-        System.out.println("USO DE MARCOS DE MEMORIA");
+        System.out.println("USO DE MARCOS DE MEMORIA (al terminar cada proceso)");
         System.out.println("=".repeat(40));
 
         Map<Integer, Integer> usage = memoryManager.getFrameUsageStatistics();
@@ -178,4 +723,32 @@ public class ExecutionSimulator {
             System.out.println("Proceso " + entry.getKey() + ": " + entry.getValue() + " marcos");
         }
     }
+
+    private static class TimedEvent implements Comparable<TimedEvent> {
+        static final int CPU_FREE = 0;
+        static final int FAULT_DONE = 1;
+
+        long time;
+        long sequence;
+        int type;
+        Process process;
+        long serviceTime;
+        long blockedAt;
+
+        TimedEvent(long time, long sequence, int type, Process process) {
+            this.time = time;
+            this.sequence = sequence;
+            this.type = type;
+            this.process = process;
+            this.serviceTime = -1;
+        }
+
+        @Override
+        public int compareTo(TimedEvent other) {
+            if (time != other.time) {
+                return Long.compare(time, other.time);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
 }
\ No newline at end of file
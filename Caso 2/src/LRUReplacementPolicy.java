@@ -1,3 +1,4 @@
+import java.nio.ByteBuffer;
 import java.util.*;
 
 public class LRUReplacementPolicy {
@@ -37,4 +38,25 @@ public class LRUReplacementPolicy {
     public long getAccessTime(int frame) {
         return accessTimes.getOrDefault(frame, 0L);
     }
+
+    public int stateBytes(int totalFrames) {
+        return totalFrames * Long.BYTES;
+    }
+
+    public void writeState(ByteBuffer buffer, int totalFrames) {
+        for (int frame = 0; frame < totalFrames; frame++) {
+            Long accessTime = accessTimes.get(frame);
+            buffer.putLong(accessTime != null ? accessTime : -1L);
+        }
+    }
+
+    public void readState(ByteBuffer buffer, int totalFrames, long timeShift) {
+        accessTimes.clear();
+        for (int frame = 0; frame < totalFrames; frame++) {
+            long accessTime = buffer.getLong();
+            if (accessTime != -1L) {
+                accessTimes.put(frame, accessTime + timeShift);
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -1,3 +1,4 @@
+import java.nio.ByteBuffer;
 import java.util.*;
 
 public class LocalityAnalyzer {
@@ -5,29 +6,36 @@ public class LocalityAnalyzer {
     public void analyzeAllProcesses(Map<Integer, Process> processes) {
         System.out.println("Análisis de localidad por proceso:");
 
-        int totalPageHits = 0;
-        int totalAccesses = 0;
+        long totalPageHits = 0;
+        long totalAccesses = 0;
 
         for (Process process : processes.values()) {
-            List<Integer> addresses = process.getVirtualAddresses();
-            if (addresses == null || addresses.isEmpty()) {
+            TraceStore addresses = process.getTrace();
+            if (addresses == null || addresses.size() == 0) {
                 System.out.println("Proceso " + process.getPid() + ": No hay direcciones para analizar");
                 continue;
             }
 
-            int pageHits = 0;
-            int pageChanges = 0;
-            int currentPage = -1;
+            long pageChanges = 0;
+            int pageSize = process.getPageSize();
 
-            for (int address : addresses) {
-                int page = address / process.getPageSize();
-                if (page != currentPage) {
-                    pageChanges++;
-                    currentPage = page;
-                } else {
-                    pageHits++;
+            if (Integer.bitCount(pageSize) == 1) {
+                pageChanges = TraceKernel.get().countPageChanges(addresses, Integer.numberOfTrailingZeros(pageSize));
+            } else {
+                int currentPage = -1;
+                for (int chunk = 0; chunk < addresses.getChunkCount(); chunk++) {
+                    ByteBuffer buffer = addresses.getChunk(chunk);
+                    int length = addresses.getChunkLength(chunk);
+                    for (int i = 0; i < length; i++) {
+                        int page = buffer.getInt(i << 2) / pageSize;
+                        if (page != currentPage) {
+                            pageChanges++;
+                            currentPage = page;
+                        }
+                    }
                 }
             }
+            long pageHits = addresses.size() - pageChanges;
 
             totalPageHits += pageHits;
             totalAccesses += addresses.size();
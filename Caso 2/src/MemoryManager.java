@@ -1,4 +1,7 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.function.LongSupplier;
 
 public class MemoryManager {
     private int totalFrames;
@@ -8,6 +11,15 @@ public class MemoryManager {
     private Map<Integer, List<Integer>> processFrames;
     private LRUReplacementPolicy lruPolicy;
     private Map<Integer, Process> allProcesses;
+    private Map<Integer, BitSet> sharedRegions;
+    private Map<Integer, Integer> sharedPageFrames;
+    private Map<Integer, List<Integer>> frameSharers;
+    private long framesSaved;
+    private long peakFramesSaved;
+    private MemoryTiers tiers;
+    private Map<Integer, Integer> framesAtCompletion;
+    private LongSupplier clock = System::nanoTime;
+    private long lastTimestamp = Long.MIN_VALUE;
 
     public MemoryManager(int totalFrames, Map<Integer, Process> processes) {
         this.totalFrames = totalFrames;
@@ -17,33 +29,61 @@ public class MemoryManager {
         this.processFrames = new HashMap<>();
         this.lruPolicy = new LRUReplacementPolicy();
         this.allProcesses = new HashMap<>(processes);
+        this.sharedRegions = new HashMap<>();
+        this.sharedPageFrames = new HashMap<>();
+        this.frameSharers = new HashMap<>();
+        this.framesAtCompletion = new HashMap<>();
 
         for (int i = 0; i < totalFrames; i++) {
             frameAllocation[i] = false;
         }
     }
 
+    // En el modelo de tiempos el orden LRU sale del reloj simulado y no de System.nanoTime().
+    public void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public long currentTime() {
+        return clock.getAsLong();
+    }
+
+    // Varias asignaciones en el mismo instante simulado (un fallo y su prefetch) conservan su orden.
+    private long nextTimestamp() {
+        lastTimestamp = Math.max(clock.getAsLong(), lastTimestamp + 1);
+        return lastTimestamp;
+    }
+
+    public void setTiers(MemoryTiers tiers) {
+        this.tiers = tiers;
+    }
+
     public void initializeProcessFrames(int processId, int numFrames) {
         processFrames.put(processId, new ArrayList<>());
 
         for (int i = 0; i < numFrames && getFreeFrameCount() > 0; i++) {
-            int freeFrame = findFreeFrame();
+            int freeFrame = findFreeFrame(processId);
             if (freeFrame != -1) {
                 allocateFrameToProcess(processId, freeFrame);
             }
         }
     }
 
+    // Toda carga de página pasa por aquí (fallo, prefetch o copia COW), así que aquí se cuenta por nivel.
     public int allocateFrame(int processId, int virtualPage) {
-        int freeFrame = findFreeFrame();
-        if (freeFrame != -1) {
-            allocateFrameToProcess(processId, freeFrame);
-            frameToVirtualPage.put(freeFrame, virtualPage);
-            lruPolicy.updateAccessTime(freeFrame, System.nanoTime());
-            return freeFrame;
+        int frame = findFreeFrame(processId);
+        if (frame != -1) {
+            allocateFrameToProcess(processId, frame);
+            frameToVirtualPage.put(frame, virtualPage);
+            lruPolicy.updateAccessTime(frame, nextTimestamp());
+        } else {
+            frame = replaceFrame(processId, virtualPage);
         }
 
-        return replaceFrame(processId, virtualPage);
+        if (frame >= 0 && tiers != null) {
+            tiers.recordLoad(frame);
+        }
+        return frame;
     }
 
     private int replaceFrame(int processId, int virtualPage) {
@@ -52,14 +92,27 @@ public class MemoryManager {
             return -1;
         }
 
+        int unmappedFrame = -1;
+        for (int frame : candidateFrames) {
+            if (!frameToVirtualPage.containsKey(frame) && (unmappedFrame == -1
+                    || (tiers != null && tiers.getFrameCost(frame) < tiers.getFrameCost(unmappedFrame)))) {
+                unmappedFrame = frame;
+            }
+        }
+        if (unmappedFrame != -1) {
+            frameToVirtualPage.put(unmappedFrame, virtualPage);
+            lruPolicy.updateAccessTime(unmappedFrame, nextTimestamp());
+            return unmappedFrame;
+        }
+
         int victimFrame = lruPolicy.selectVictim(candidateFrames);
         if (victimFrame != -1) {
             int oldProcessId = frameToProcess.get(victimFrame);
             int oldVirtualPage = frameToVirtualPage.get(victimFrame);
 
             Process oldProcess = allProcesses.get(oldProcessId);
-            if (oldProcess != null) {
-                oldProcess.notifyPageRemoved(oldVirtualPage);
+            if (!releaseSharedFrame(victimFrame)) {
+                notifyIfMapped(oldProcess, oldVirtualPage, victimFrame);
             }
 
             frameToProcess.remove(victimFrame);
@@ -78,7 +131,7 @@ public class MemoryManager {
             }
             processFrames.get(processId).add(victimFrame);
 
-            lruPolicy.updateAccessTime(victimFrame, System.nanoTime());
+            lruPolicy.updateAccessTime(victimFrame, nextTimestamp());
 
             return victimFrame;
         }
@@ -86,7 +139,10 @@ public class MemoryManager {
         return -1;
     }
 
-    private int findFreeFrame() {
+    private int findFreeFrame(int processId) {
+        if (tiers != null) {
+            return tiers.selectFreeFrame(processId, frameAllocation);
+        }
         for (int i = 0; i < totalFrames; i++) {
             if (!frameAllocation[i]) {
                 return i;
@@ -116,9 +172,17 @@ public class MemoryManager {
     }
 
     public void freeProcessFrames(int processId) {
+        for (List<Integer> sharers : frameSharers.values()) {
+            if (sharers.remove((Integer) processId) && !sharers.isEmpty()) {
+                framesSaved--;
+            }
+        }
+
         List<Integer> frames = processFrames.get(processId);
         if (frames != null) {
+            framesAtCompletion.put(processId, frames.size());
             for (int frame : frames) {
+                releaseSharedFrame(frame);
                 frameAllocation[frame] = false;
                 frameToProcess.remove(frame);
                 frameToVirtualPage.remove(frame);
@@ -145,8 +209,211 @@ public class MemoryManager {
         return (process != null) ? process.getPageSize() : 4096;
     }
 
+    // Las páginas de la región compartida de un proceso se identifican por su número de página virtual:
+    // dos procesos con la misma página en sus regiones ven el mismo contenido y pueden usar un solo marco.
+    // El marco pertenece (y cuenta en la partición) del proceso que lo cargó primero.
+    public void setSharedRegion(int processId, BitSet pages) {
+        sharedRegions.put(processId, (BitSet) pages.clone());
+    }
+
+    public boolean isSharingEnabled() {
+        return !sharedRegions.isEmpty();
+    }
+
+    public boolean isSharedPage(int processId, int virtualPage) {
+        BitSet pages = sharedRegions.get(processId);
+        return pages != null && pages.get(virtualPage);
+    }
+
+    public int attachSharedPage(int processId, int virtualPage) {
+        Integer frame = sharedPageFrames.get(virtualPage);
+        if (frame == null) {
+            return -1;
+        }
+
+        List<Integer> sharers = frameSharers.get(frame);
+        if (!sharers.isEmpty()) {
+            framesSaved++;
+            peakFramesSaved = Math.max(peakFramesSaved, framesSaved);
+        }
+        sharers.add(processId);
+        return frame;
+    }
+
+    public void registerSharedFrame(int processId, int virtualPage, int frame) {
+        List<Integer> sharers = new ArrayList<>();
+        sharers.add(processId);
+        sharedPageFrames.put(virtualPage, frame);
+        frameSharers.put(frame, sharers);
+    }
+
+    public boolean isSharedMapping(int processId, int frame) {
+        List<Integer> sharers = frameSharers.get(frame);
+        return sharers != null && sharers.contains(processId);
+    }
+
+    public boolean isSoleOwner(int processId, int frame) {
+        List<Integer> sharers = frameSharers.get(frame);
+        Integer owner = frameToProcess.get(frame);
+        return sharers != null && sharers.size() == 1 && sharers.get(0) == processId
+                && owner != null && owner == processId;
+    }
+
+    // Primera escritura sobre una página compartida. Solo el dueño del marco (el proceso que lo cargó y en cuya
+    // partición cuenta) puede quedárselo como página privada sin copiarla, y solo si ya nadie más lo usa.
+    // En otro caso el que escribe recibe una copia en uno de sus propios marcos.
+    // Devuelve el marco privado, o -1 si no se pudo conseguir uno.
+    public int copyOnWrite(int processId, int virtualPage, int frame) {
+        List<Integer> sharers = frameSharers.get(frame);
+        sharedRegions.get(processId).clear(virtualPage);
+        sharers.remove((Integer) processId);
+
+        if (!sharers.isEmpty()) {
+            framesSaved--;
+            return allocateFrame(processId, virtualPage);
+        }
+
+        frameSharers.remove(frame);
+        sharedPageFrames.remove(virtualPage);
+        Integer owner = frameToProcess.get(frame);
+        if (owner != null && owner == processId) {
+            return frame;
+        }
+
+        // El dueño ya tiene su propia copia: el marco queda libre dentro de su partición.
+        frameToVirtualPage.remove(frame);
+        lruPolicy.removeFrame(frame);
+        return allocateFrame(processId, virtualPage);
+    }
+
+    private boolean releaseSharedFrame(int frame) {
+        List<Integer> sharers = frameSharers.remove(frame);
+        if (sharers == null) {
+            return false;
+        }
+
+        int virtualPage = frameToVirtualPage.get(frame);
+        sharedPageFrames.remove(virtualPage);
+        framesSaved -= Math.max(0, sharers.size() - 1);
+        for (int processId : sharers) {
+            notifyIfMapped(allProcesses.get(processId), virtualPage, frame);
+        }
+        return true;
+    }
+
+    // Solo se invalida la página si la entrada del proceso apunta de verdad a ese marco.
+    private void notifyIfMapped(Process process, int virtualPage, int frame) {
+        if (process == null) {
+            return;
+        }
+        PageTable.PageTableEntry entry = process.getPageTable().getEntry(virtualPage);
+        if (entry.isPresent() && entry.getPhysicalFrame() != null && entry.getPhysicalFrame() == frame) {
+            process.notifyPageRemoved(virtualPage);
+        }
+    }
+
+    // Demonio de migración: las páginas calientes (con bit de referencia desde la última pasada) que están en
+    // marcos lentos del proceso pasan a sus marcos más rápidos libres o con páginas frías, que bajan a cambio.
+    // Los marcos siguen siendo del mismo proceso, así que la partición no cambia. Devuelve las páginas movidas.
+    public int migratePages(int processId) {
+        List<Integer> frames = processFrames.get(processId);
+        Process process = allProcesses.get(processId);
+        if (tiers == null || frames == null || process == null) {
+            return 0;
+        }
+
+        PageTable pageTable = process.getPageTable();
+        List<Integer> byCost = new ArrayList<>(frames);
+        byCost.sort(Comparator.comparingLong(tiers::getFrameCost));
+
+        int moved = 0;
+        int fast = 0;
+        int slow = byCost.size() - 1;
+        while (fast < slow) {
+            int target = byCost.get(fast);
+            if (!isMigrationTarget(pageTable, target)) {
+                fast++;
+                continue;
+            }
+            int source = byCost.get(slow);
+            if (!isHotPage(pageTable, source)) {
+                slow--;
+                continue;
+            }
+            if (tiers.getFrameCost(target) >= tiers.getFrameCost(source)) {
+                break;
+            }
+
+            moved += exchangeFrames(pageTable, source, target);
+            fast++;
+            slow--;
+        }
+
+        for (int frame : frames) {
+            Integer virtualPage = frameToVirtualPage.get(frame);
+            if (virtualPage != null) {
+                pageTable.getEntry(virtualPage).setReferenced(false);
+            }
+        }
+        return moved;
+    }
+
+    private boolean isMigrationTarget(PageTable pageTable, int frame) {
+        Integer virtualPage = frameToVirtualPage.get(frame);
+        if (virtualPage == null) {
+            return true;
+        }
+        PageTable.PageTableEntry entry = pageTable.getEntry(virtualPage);
+        return isMovable(entry, frame) && !entry.isReferenced();
+    }
+
+    private boolean isHotPage(PageTable pageTable, int frame) {
+        Integer virtualPage = frameToVirtualPage.get(frame);
+        if (virtualPage == null) {
+            return false;
+        }
+        PageTable.PageTableEntry entry = pageTable.getEntry(virtualPage);
+        return isMovable(entry, frame) && entry.isReferenced();
+    }
+
+    // Los marcos compartidos no se migran: otros procesos los tienen mapeados.
+    private boolean isMovable(PageTable.PageTableEntry entry, int frame) {
+        return entry.isPresent() && entry.getPhysicalFrame() == frame && !frameSharers.containsKey(frame);
+    }
+
+    private int exchangeFrames(PageTable pageTable, int source, int target) {
+        int hotPage = frameToVirtualPage.remove(source);
+        Integer coldPage = frameToVirtualPage.remove(target);
+        long hotTime = lruPolicy.getAccessTime(source);
+        long coldTime = lruPolicy.getAccessTime(target);
+
+        frameToVirtualPage.put(target, hotPage);
+        pageTable.getEntry(hotPage).setPhysicalFrame(target);
+        lruPolicy.updateAccessTime(target, hotTime);
+        tiers.recordPromotion(target);
+
+        if (coldPage == null) {
+            lruPolicy.removeFrame(source);
+            return 1;
+        }
+        frameToVirtualPage.put(source, coldPage);
+        pageTable.getEntry(coldPage).setPhysicalFrame(source);
+        lruPolicy.updateAccessTime(source, coldTime);
+        tiers.recordDemotion(source);
+        return 2;
+    }
+
+    public long getFramesSaved() {
+        return framesSaved;
+    }
+
+    public long getPeakFramesSaved() {
+        return peakFramesSaved;
+    }
+
+    // Los procesos terminados ya liberaron sus marcos: se informa cuántos tenían al terminar.
     public Map<Integer, Integer> getFrameUsageStatistics() {
-        Map<Integer, Integer> usage = new HashMap<>();
+        Map<Integer, Integer> usage = new HashMap<>(framesAtCompletion);
         for (int i = 0; i < totalFrames; i++) {
             if (frameAllocation[i]) {
                 int processId = frameToProcess.get(i);
@@ -155,4 +422,81 @@ public class MemoryManager {
         }
         return usage;
     }
+
+    public int getTotalFrames() {
+        return totalFrames;
+    }
+
+    public int stateBytes() {
+        int bytes = totalFrames * (1 + 2 * Integer.BYTES) + lruPolicy.stateBytes(totalFrames) + 2 * Integer.BYTES
+                + framesAtCompletion.size() * 2 * Integer.BYTES;
+        for (List<Integer> frames : processFrames.values()) {
+            bytes += 2 * Integer.BYTES + frames.size() * Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    public void writeState(ByteBuffer buffer) {
+        for (int i = 0; i < totalFrames; i++) {
+            buffer.put((byte) (frameAllocation[i] ? 1 : 0));
+            buffer.putInt(frameToProcess.getOrDefault(i, -1));
+            buffer.putInt(frameToVirtualPage.getOrDefault(i, -1));
+        }
+        lruPolicy.writeState(buffer, totalFrames);
+
+        buffer.putInt(processFrames.size());
+        for (Map.Entry<Integer, List<Integer>> entry : processFrames.entrySet()) {
+            buffer.putInt(entry.getKey());
+            buffer.putInt(entry.getValue().size());
+            for (int frame : entry.getValue()) {
+                buffer.putInt(frame);
+            }
+        }
+
+        buffer.putInt(framesAtCompletion.size());
+        for (Map.Entry<Integer, Integer> entry : framesAtCompletion.entrySet()) {
+            buffer.putInt(entry.getKey());
+            buffer.putInt(entry.getValue());
+        }
+    }
+
+    public void readState(ByteBuffer buffer, long timeShift) throws IOException {
+        frameToProcess.clear();
+        frameToVirtualPage.clear();
+        processFrames.clear();
+        framesAtCompletion.clear();
+
+        for (int i = 0; i < totalFrames; i++) {
+            frameAllocation[i] = buffer.get() != 0;
+            int processId = buffer.getInt();
+            int virtualPage = buffer.getInt();
+            if (processId != -1) {
+                frameToProcess.put(i, processId);
+            }
+            if (virtualPage != -1) {
+                frameToVirtualPage.put(i, virtualPage);
+            }
+        }
+        lruPolicy.readState(buffer, totalFrames, timeShift);
+
+        int processCount = buffer.getInt();
+        for (int i = 0; i < processCount; i++) {
+            int processId = buffer.getInt();
+            int frameCount = buffer.getInt();
+            List<Integer> frames = new ArrayList<>(frameCount);
+            for (int j = 0; j < frameCount; j++) {
+                int frame = buffer.getInt();
+                if (frame < 0 || frame >= totalFrames) {
+                    throw new IOException("marco fuera de rango en el checkpoint: " + frame);
+                }
+                frames.add(frame);
+            }
+            processFrames.put(processId, frames);
+        }
+
+        int completedCount = buffer.getInt();
+        for (int i = 0; i < completedCount; i++) {
+            framesAtCompletion.put(buffer.getInt(), buffer.getInt());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,220 @@
+import java.io.*;
+import java.util.*;
+
+public class MemoryTiers {
+    public static final String LOCAL_FIRST = "local";
+    public static final String INTERLEAVE = "intercalada";
+
+    private String[] names;
+    private int[] firstFrames;
+    private int[] frameCounts;
+    private long[] accessCosts;
+    private Map<Integer, Integer> homeTiers;
+    private String placement;
+    private long migrationInterval;
+    private long migrationCost;
+    private int totalFrames;
+    private Map<Integer, Integer> nextInterleaveTier;
+
+    private long[] accesses;
+    private long[] loads;
+    private long[] promotions;
+    private long[] demotions;
+
+    // Los marcos se reparten en niveles consecutivos: el nivel 0 ocupa los primeros NIVEL0_MARCOS marcos,
+    // el nivel 1 los siguientes, etc. Un nivel puede ser un nodo NUMA o un tipo de memoria más lenta.
+    public MemoryTiers(String[] names, int[] frameCounts, long[] accessCosts, Map<Integer, Integer> homeTiers,
+            String placement, long migrationInterval, long migrationCost) {
+        if (!placement.equals(LOCAL_FIRST) && !placement.equals(INTERLEAVE)) {
+            throw new IllegalArgumentException("COLOCACION debe ser " + LOCAL_FIRST + " o " + INTERLEAVE);
+        }
+        this.names = names;
+        this.frameCounts = frameCounts;
+        this.accessCosts = accessCosts;
+        this.homeTiers = homeTiers;
+        this.placement = placement;
+        this.migrationInterval = migrationInterval;
+        this.migrationCost = migrationCost;
+        this.nextInterleaveTier = new HashMap<>();
+
+        int tierCount = names.length;
+        this.firstFrames = new int[tierCount];
+        for (int tier = 0; tier < tierCount; tier++) {
+            if (frameCounts[tier] <= 0 || accessCosts[tier] <= 0) {
+                throw new IllegalArgumentException("el nivel " + tier + " necesita MARCOS y COSTO_NS positivos");
+            }
+            firstFrames[tier] = totalFrames;
+            totalFrames += frameCounts[tier];
+        }
+
+        this.accesses = new long[tierCount];
+        this.loads = new long[tierCount];
+        this.promotions = new long[tierCount];
+        this.demotions = new long[tierCount];
+    }
+
+    public static MemoryTiers load(String filename) throws IOException {
+        Properties props = new Properties();
+        try (FileInputStream input = new FileInputStream(filename)) {
+            props.load(input);
+        }
+
+        String count = props.getProperty("NIVELES");
+        if (count == null) {
+            throw new IllegalArgumentException("falta NIVELES");
+        }
+        int tierCount = Integer.parseInt(count.trim());
+        String[] names = new String[tierCount];
+        int[] frameCounts = new int[tierCount];
+        long[] accessCosts = new long[tierCount];
+        Map<Integer, Integer> homeTiers = new HashMap<>();
+
+        for (int tier = 0; tier < tierCount; tier++) {
+            String prefix = "NIVEL" + tier + "_";
+            names[tier] = props.getProperty(prefix + "NOMBRE", "nivel " + tier).trim();
+            frameCounts[tier] = Integer.parseInt(props.getProperty(prefix + "MARCOS", "0").trim());
+            accessCosts[tier] = Long.parseLong(props.getProperty(prefix + "COSTO_NS", "0").trim());
+
+            String localProcesses = props.getProperty(prefix + "PROCESOS");
+            if (localProcesses != null && !localProcesses.trim().isEmpty()) {
+                for (String pid : localProcesses.split(",")) {
+                    homeTiers.put(Integer.parseInt(pid.trim()), tier);
+                }
+            }
+        }
+
+        return new MemoryTiers(names, frameCounts, accessCosts, homeTiers,
+                props.getProperty("COLOCACION", LOCAL_FIRST).trim(),
+                Long.parseLong(props.getProperty("MIGRACION_INTERVALO", "0").trim()),
+                Long.parseLong(props.getProperty("MIGRACION_NS", "2000").trim()));
+    }
+
+    public int getTierCount() {
+        return names.length;
+    }
+
+    public int getTotalFrames() {
+        return totalFrames;
+    }
+
+    public String getPlacement() {
+        return placement;
+    }
+
+    public long getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    public int getTier(int frame) {
+        int tier = names.length - 1;
+        while (tier > 0 && frame < firstFrames[tier]) {
+            tier--;
+        }
+        return tier;
+    }
+
+    public long getFrameCost(int frame) {
+        return accessCosts[getTier(frame)];
+    }
+
+    // Con colocación local un proceso toma marcos de su nivel local (NIVELn_PROCESOS, o el más rápido si no
+    // tiene uno asignado) y después de los demás de menor a mayor costo. Con intercalada va rotando entre niveles.
+    public int selectFreeFrame(int processId, boolean[] frameAllocation) {
+        int tierCount = names.length;
+
+        if (placement.equals(INTERLEAVE)) {
+            int start = nextInterleaveTier.getOrDefault(processId, processId % tierCount);
+            for (int i = 0; i < tierCount; i++) {
+                int tier = (start + i) % tierCount;
+                int frame = findFreeFrame(tier, frameAllocation);
+                if (frame != -1) {
+                    nextInterleaveTier.put(processId, (tier + 1) % tierCount);
+                    return frame;
+                }
+            }
+            return -1;
+        }
+
+        Integer home = homeTiers.get(processId);
+        if (home != null) {
+            int frame = findFreeFrame(home, frameAllocation);
+            if (frame != -1) {
+                return frame;
+            }
+        }
+        for (int tier : tiersByCost()) {
+            int frame = findFreeFrame(tier, frameAllocation);
+            if (frame != -1) {
+                return frame;
+            }
+        }
+        return -1;
+    }
+
+    private int findFreeFrame(int tier, boolean[] frameAllocation) {
+        int end = firstFrames[tier] + frameCounts[tier];
+        for (int frame = firstFrames[tier]; frame < end; frame++) {
+            if (!frameAllocation[frame]) {
+                return frame;
+            }
+        }
+        return -1;
+    }
+
+    private List<Integer> tiersByCost() {
+        List<Integer> order = new ArrayList<>();
+        for (int tier = 0; tier < names.length; tier++) {
+            order.add(tier);
+        }
+        order.sort(Comparator.comparingLong(tier -> accessCosts[tier]));
+        return order;
+    }
+
+    public void recordAccesses(int frame, long count) {
+        accesses[getTier(frame)] += count;
+    }
+
+    public void recordLoad(int frame) {
+        loads[getTier(frame)]++;
+    }
+
+    public void recordPromotion(int frame) {
+        promotions[getTier(frame)]++;
+    }
+
+    public void recordDemotion(int frame) {
+        demotions[getTier(frame)]++;
+    }
+
+    public String getName(int tier) {
+        return names[tier];
+    }
+
+    public int getFrameCount(int tier) {
+        return frameCounts[tier];
+    }
+
+    public long getAccessCost(int tier) {
+        return accessCosts[tier];
+    }
+
+    public long getAccesses(int tier) {
+        return accesses[tier];
+    }
+
+    public long getLoads(int tier) {
+        return loads[tier];
+    }
+
+    public long getPromotions(int tier) {
+        return promotions[tier];
+    }
+
+    public long getDemotions(int tier) {
+        return demotions[tier];
+    }
+
+    public long getMigrationCost() {
+        return migrationCost;
+    }
+}
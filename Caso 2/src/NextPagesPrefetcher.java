@@ -0,0 +1,36 @@
+import java.nio.ByteBuffer;
+
+public class NextPagesPrefetcher implements Prefetcher {
+    private int numPages;
+
+    public NextPagesPrefetcher(int numPages) {
+        this.numPages = numPages;
+    }
+
+    @Override
+    public int[] selectPages(Process process, int faultPage) {
+        int[] pages = new int[numPages];
+        for (int i = 0; i < numPages; i++) {
+            pages[i] = faultPage + i + 1;
+        }
+        return pages;
+    }
+
+    @Override
+    public String getName() {
+        return "siguientes:" + numPages;
+    }
+
+    @Override
+    public int stateBytes() {
+        return 0;
+    }
+
+    @Override
+    public void writeState(ByteBuffer buffer) {
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+    }
+}
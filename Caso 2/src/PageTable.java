@@ -1,6 +1,9 @@
+import java.nio.ByteBuffer;
 import java.util.*;
 
 public class PageTable {
+    private static final int ENTRY_STATE_BYTES = 2 * Integer.BYTES + 1 + Long.BYTES;
+
     private Map<Integer, PageTableEntry> entries;
 
     public PageTable() {
@@ -51,12 +54,41 @@ public class PageTable {
         return null;
     }
 
+    public int stateBytes() {
+        return Integer.BYTES + entries.size() * ENTRY_STATE_BYTES;
+    }
+
+    public void writeState(ByteBuffer buffer) {
+        buffer.putInt(entries.size());
+        for (PageTableEntry entry : entries.values()) {
+            buffer.putInt(entry.getVirtualPage());
+            buffer.putInt(entry.getPhysicalFrame() != null ? entry.getPhysicalFrame() : -1);
+            buffer.put(entry.getStateFlags());
+            buffer.putLong(entry.getLastAccessTime());
+        }
+    }
+
+    public void readState(ByteBuffer buffer, long timeShift) {
+        entries.clear();
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            PageTableEntry entry = new PageTableEntry(buffer.getInt());
+            int physicalFrame = buffer.getInt();
+            entry.setPhysicalFrame(physicalFrame != -1 ? physicalFrame : null);
+            entry.setStateFlags(buffer.get());
+            long lastAccessTime = buffer.getLong();
+            entry.setLastAccessTime(lastAccessTime != 0 ? lastAccessTime + timeShift : 0);
+            entries.put(entry.getVirtualPage(), entry);
+        }
+    }
+
     public static class PageTableEntry {
         private int virtualPage;
         private Integer physicalFrame;
         private boolean present;
         private boolean referenced;
         private boolean modified;
+        private boolean prefetched;
         private long lastAccessTime;
 
         public PageTableEntry(int virtualPage) {
@@ -64,6 +96,7 @@ public class PageTable {
             this.present = false;
             this.referenced = false;
             this.modified = false;
+            this.prefetched = false;
             this.lastAccessTime = 0;
         }
 
@@ -103,6 +136,25 @@ public class PageTable {
             this.modified = modified;
         }
 
+        byte getStateFlags() {
+            return (byte) ((present ? 1 : 0) | (referenced ? 2 : 0) | (modified ? 4 : 0) | (prefetched ? 8 : 0));
+        }
+
+        void setStateFlags(byte flags) {
+            this.present = (flags & 1) != 0;
+            this.referenced = (flags & 2) != 0;
+            this.modified = (flags & 4) != 0;
+            this.prefetched = (flags & 8) != 0;
+        }
+
+        public boolean isPrefetched() {
+            return prefetched;
+        }
+
+        public void setPrefetched(boolean prefetched) {
+            this.prefetched = prefetched;
+        }
+
         public long getLastAccessTime() {
             return lastAccessTime;
         }
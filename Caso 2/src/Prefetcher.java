@@ -0,0 +1,31 @@
+import java.nio.ByteBuffer;
+
+public interface Prefetcher {
+
+    int[] selectPages(Process process, int faultPage);
+
+    String getName();
+
+    int stateBytes();
+
+    void writeState(ByteBuffer buffer);
+
+    void readState(ByteBuffer buffer);
+
+    static Prefetcher create(String spec) {
+        String[] parts = spec.split(":");
+        String name = parts[0];
+        int parameter = (parts.length > 1) ? Integer.parseInt(parts[1].trim()) : -1;
+
+        switch (name) {
+            case "siguientes":
+                return new NextPagesPrefetcher(parameter > 0 ? parameter : 2);
+            case "adaptativo":
+                return new AdaptiveReadaheadPrefetcher(parameter > 0 ? parameter : 8);
+            case "zancada":
+                return new StridePrefetcher(parameter > 0 ? parameter : 2);
+            default:
+                throw new IllegalArgumentException("política de prefetch desconocida: " + spec);
+        }
+    }
+}
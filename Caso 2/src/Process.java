@@ -1,24 +1,34 @@
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 public class Process {
     private int pid;
     private int numRows;
     private int numCols;
-    private List<Integer> virtualAddresses;
+    private TraceStore trace;
     private PageTable pageTable;
-    private int pageFaults;
-    private int swapAccesses;
-    private int totalReferences;
-    private int currentAddressIndex;
+    private long pageFaults;
+    private long swapAccesses;
+    private long totalReferences;
+    private long currentAddressIndex;
+    private long prefetchedPages;
+    private long usefulPrefetches;
+    private long wastedPrefetches;
+    private long sharedMappings;
+    private long cowFaults;
     private int pageSize;
+    private AddressBatchQueue addressStream;
+    private long runEnd;
+    private int runPage;
+    private boolean runWrite;
 
     public Process(int pid, int pageSize, int numRows, int numCols) {
         this.pid = pid;
         this.pageSize = pageSize;
         this.numRows = numRows;
         this.numCols = numCols;
-        this.virtualAddresses = new ArrayList<>();
+        this.trace = new TraceStore(0).view();
         this.pageTable = new PageTable();
         this.pageFaults = 0;
         this.swapAccesses = 0;
@@ -27,7 +37,7 @@ public class Process {
     }
 
     public void loadAddressesFromFile(String filename) throws IOException {
-        virtualAddresses.clear();
+        TraceStore addresses = new TraceStore(3L * numRows * numCols);
         BufferedReader reader = new BufferedReader(new FileReader(filename));
         String line;
         boolean addressesSection = false;
@@ -39,28 +49,99 @@ public class Process {
             }
 
             if (addressesSection && !line.trim().isEmpty()) {
-                virtualAddresses.add(Integer.parseInt(line.trim()));
+                addresses.add(Integer.parseInt(line.trim()));
             }
         }
         reader.close();
 
-        this.totalReferences = virtualAddresses.size();
+        setTrace(addresses);
     }
 
-    public void setVirtualAddresses(List<Integer> addresses) {
-        this.virtualAddresses = new ArrayList<>(addresses);
-        this.totalReferences = addresses.size();
+    public void setTrace(TraceStore addresses) {
+        this.trace = addresses.view();
+        this.addressStream = null;
+        this.totalReferences = trace.size();
+        this.runEnd = 0;
+    }
+
+    public void setAddressStream(AddressBatchQueue stream, long totalReferences) {
+        this.trace = new TraceStore(0).view();
+        this.addressStream = stream;
+        this.totalReferences = totalReferences;
+        this.runEnd = 0;
+    }
+
+    // Las rachas (página, longitud, r/w) se obtienen recorriendo la traza por delante de la posición actual,
+    // sin guardarlas en el heap; cada dirección se examina una sola vez.
+    private void scanRun() {
+        int address = trace.get(currentAddressIndex);
+        runPage = address / pageSize;
+        runWrite = isWriteAddress(address);
+        // Una racha son las direcciones de la misma página y del mismo tipo (lectura o escritura),
+        // es decir, las que caen en un intervalo contiguo: se busca su fin con el kernel de trazas.
+        long low = (long) runPage * pageSize;
+        long high = low + pageSize - 1;
+        long firstWrite = 8L * numRows * numCols;
+        if (runWrite) {
+            low = Math.max(low, firstWrite);
+        } else {
+            high = Math.min(high, firstWrite - 1);
+        }
+        runEnd = TraceKernel.get().findRangeEnd(trace, currentAddressIndex + 1, (int) low,
+                (int) Math.min(high, Integer.MAX_VALUE));
+    }
+
+    // El formato de traza no guarda r/w: la tercera matriz (resultado de la suma) es la única que se escribe.
+    public boolean isWriteAddress(int address) {
+        return address >= 8L * numRows * numCols;
+    }
+
+    public long getRunRemaining() {
+        if (addressStream != null || currentAddressIndex >= totalReferences) {
+            return 0;
+        }
+        if (currentAddressIndex >= runEnd) {
+            scanRun();
+        }
+        return runEnd - currentAddressIndex;
+    }
+
+    public int getCurrentRunPage() {
+        return runPage;
+    }
+
+    public boolean isCurrentRunWrite() {
+        return runWrite;
+    }
+
+    public long getRemainingReferences() {
+        return totalReferences - currentAddressIndex;
+    }
+
+    public void skipReferences(long count) {
+        currentAddressIndex += count;
+    }
+
+    public boolean isStreamed() {
+        return addressStream != null;
     }
 
     public int getNextAddress() {
-        if (currentAddressIndex < virtualAddresses.size()) {
-            return virtualAddresses.get(currentAddressIndex++);
+        if (addressStream != null) {
+            if (currentAddressIndex < totalReferences) {
+                currentAddressIndex++;
+                return addressStream.next();
+            }
+            return -1;
+        }
+        if (currentAddressIndex < totalReferences) {
+            return trace.get(currentAddressIndex++);
         }
         return -1;
     }
 
     public boolean hasMoreAddresses() {
-        return currentAddressIndex < virtualAddresses.size();
+        return currentAddressIndex < totalReferences;
     }
 
     public void incrementPageFaults() {
@@ -75,15 +156,42 @@ public class Process {
         swapAccesses += count;
     }
 
+    public void incrementSharedMappings() {
+        sharedMappings++;
+    }
+
+    public void incrementCowFaults() {
+        cowFaults++;
+    }
+
+    public void notifyPagePrefetched(int virtualPage) {
+        pageTable.getEntry(virtualPage).setPrefetched(true);
+        prefetchedPages++;
+        swapAccesses++;
+    }
+
+    public void notifyPageHit(PageTable.PageTableEntry entry) {
+        entry.setReferenced(true);
+        if (entry.isPrefetched()) {
+            entry.setPrefetched(false);
+            usefulPrefetches++;
+        }
+    }
+
     public void notifyPageRemoved(int virtualPage) {
         PageTable.PageTableEntry entry = pageTable.getEntry(virtualPage);
         if (entry != null && entry.isPresent()) {
             if (entry.isModified()) {
                 swapAccesses++;
             }
+            if (entry.isPrefetched()) {
+                entry.setPrefetched(false);
+                wastedPrefetches++;
+            }
             entry.setPresent(false);
             entry.setPhysicalFrame(null);
             entry.setModified(false);
+            entry.setReferenced(false);
         }
     }
 
@@ -98,6 +206,38 @@ public class Process {
         }
     }
 
+    public int stateBytes() {
+        return Integer.BYTES + 7 * Long.BYTES + pageTable.stateBytes();
+    }
+
+    public void writeState(ByteBuffer buffer) {
+        buffer.putInt(pid);
+        buffer.putLong(totalReferences);
+        buffer.putLong(currentAddressIndex);
+        buffer.putLong(pageFaults);
+        buffer.putLong(swapAccesses);
+        buffer.putLong(prefetchedPages);
+        buffer.putLong(usefulPrefetches);
+        buffer.putLong(wastedPrefetches);
+        pageTable.writeState(buffer);
+    }
+
+    public void readState(ByteBuffer buffer, long timeShift) throws IOException {
+        int savedPid = buffer.getInt();
+        long savedReferences = buffer.getLong();
+        if (savedPid != pid || savedReferences != totalReferences) {
+            throw new IOException("el proceso " + pid + " no coincide con el guardado en el checkpoint");
+        }
+        this.currentAddressIndex = buffer.getLong();
+        this.pageFaults = buffer.getLong();
+        this.swapAccesses = buffer.getLong();
+        this.prefetchedPages = buffer.getLong();
+        this.usefulPrefetches = buffer.getLong();
+        this.wastedPrefetches = buffer.getLong();
+        pageTable.readState(buffer, timeShift);
+        this.runEnd = 0;
+    }
+
     // Getters
     public int getPid() {
         return pid;
@@ -111,18 +251,49 @@ public class Process {
         return numCols;
     }
 
-    public int getPageFaults() {
+    public long getPageFaults() {
         return pageFaults;
     }
 
-    public int getSwapAccesses() {
+    public long getSwapAccesses() {
         return swapAccesses;
     }
 
-    public int getTotalReferences() {
+    public long getTotalReferences() {
         return totalReferences;
     }
 
+    public long getSharedMappings() {
+        return sharedMappings;
+    }
+
+    public long getCowFaults() {
+        return cowFaults;
+    }
+
+    public long getPrefetchedPages() {
+        return prefetchedPages;
+    }
+
+    public long getUsefulPrefetches() {
+        return usefulPrefetches;
+    }
+
+    public long getWastedPrefetches() {
+        long unused = 0;
+        for (PageTable.PageTableEntry entry : pageTable.getAllEntries()) {
+            if (entry.isPrefetched()) {
+                unused++;
+            }
+        }
+        return wastedPrefetches + unused;
+    }
+
+    public int getNumVirtualPages() {
+        long totalBytes = 3L * numRows * numCols * 4;
+        return (int) ((totalBytes + pageSize - 1) / pageSize);
+    }
+
     public PageTable getPageTable() {
         return pageTable;
     }
@@ -131,8 +302,8 @@ public class Process {
         return pageSize;
     }
 
-    public List<Integer> getVirtualAddresses() {
-        return new ArrayList<>(virtualAddresses);
+    public TraceStore getTrace() {
+        return trace;
     }
 
     public double getPageFaultRate() {
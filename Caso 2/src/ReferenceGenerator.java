@@ -1,7 +1,14 @@
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.IntConsumer;
 
 public class ReferenceGenerator {
+    private static final int PIPELINE_QUEUE_BATCHES = 16;
+    private static final int PIPELINE_BATCH_SIZE = 4096;
+
+    private List<Thread> producers = new ArrayList<>();
+    private List<AddressBatchQueue> streams = new ArrayList<>();
 
     public void generateFromConfig(String configFile) {
         try {
@@ -29,8 +36,78 @@ public class ReferenceGenerator {
         }
     }
 
+    // Prepara los procesos con su cola, pero los generadores no arrancan hasta startProducers():
+    // así quien llama puede validar la configuración sin dejar hilos escribiendo en colas que nadie lee.
+    public Map<Integer, Process> generatePipelined(String configFile) {
+        Map<Integer, Process> processes = new HashMap<>();
+        try {
+            Properties props = new Properties();
+            props.load(new FileInputStream(configFile));
+
+            int pageSize = Integer.parseInt(props.getProperty("TP"));
+            int numProcesses = Integer.parseInt(props.getProperty("NPROC"));
+            String[] matrixSizes = props.getProperty("TAMS").split(",");
+
+            if (matrixSizes.length != numProcesses) {
+                System.out.println("Error: El número de tamaños de matriz no coincide con el número de procesos");
+                return null;
+            }
+
+            for (int i = 0; i < numProcesses; i++) {
+                int matrixSize = Integer.parseInt(matrixSizes[i].trim());
+                processes.put(i, startProcessStream(i, pageSize, matrixSize, matrixSize));
+            }
+
+        } catch (IOException e) {
+            System.out.println("Error leyendo archivo de configuración: " + e.getMessage());
+            return null;
+        }
+        return processes;
+    }
+
+    private Process startProcessStream(int processId, int pageSize, int numRows, int numCols) {
+        AddressBatchQueue queue = new AddressBatchQueue(PIPELINE_QUEUE_BATCHES, PIPELINE_BATCH_SIZE);
+        Process process = new Process(processId, pageSize, numRows, numCols);
+        process.setAddressStream(queue, 3L * numRows * numCols);
+
+        Thread producer = new Thread(() -> {
+            try {
+                emitAddresses(numRows, numCols, queue::add);
+                queue.close();
+            } catch (CancellationException e) {
+                // El consumidor abandonó la simulación
+            }
+        }, "generador-" + processId);
+        producer.setDaemon(true);
+        producers.add(producer);
+        streams.add(queue);
+
+        return process;
+    }
+
+    public void startProducers() {
+        for (Thread producer : producers) {
+            producer.start();
+        }
+    }
+
+    public void cancelProducers() {
+        for (AddressBatchQueue queue : streams) {
+            queue.cancel();
+        }
+    }
+
+    public TraceStore createTrace(int numRows, int numCols) {
+        TraceStore addresses = new TraceStore(3L * numRows * numCols);
+        emitAddresses(numRows, numCols, addresses::add);
+        return addresses;
+    }
+
     public void generateProcessReferences(int processId, int pageSize, int numRows, int numCols) {
-        List<Integer> addresses = new ArrayList<>();
+        writeToFile(processId, pageSize, numRows, numCols, createTrace(numRows, numCols));
+    }
+
+    private void emitAddresses(int numRows, int numCols, IntConsumer sink) {
         int totalElements = numRows * numCols;
 
         int baseMatriz1 = 0;
@@ -43,15 +120,13 @@ public class ReferenceGenerator {
             for (int i = 0; i < numRows; i++) {
                 for (int j = 0; j < numCols; j++) {
                     int address = baseAddress + (i * numCols + j) * 4;
-                    addresses.add(address);
+                    sink.accept(address);
                 }
             }
         }
-
-        writeToFile(processId, pageSize, numRows, numCols, addresses);
     }
 
-    private void writeToFile(int processId, int pageSize, int numRows, int numCols, List<Integer> addresses) {
+    private void writeToFile(int processId, int pageSize, int numRows, int numCols, TraceStore addresses) {
         String filename = "proc" + processId + ".txt";
 
         try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
@@ -62,8 +137,8 @@ public class ReferenceGenerator {
             writer.println("NP: " + calculateVirtualPages(pageSize, numRows, numCols));
             writer.println("Direcciones:");
 
-            for (int address : addresses) {
-                writer.println(address);
+            for (long i = 0; i < addresses.size(); i++) {
+                writer.println(addresses.get(i));
             }
 
         } catch (IOException e) {
@@ -0,0 +1,164 @@
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+public class SimulationCheckpoint {
+    private static final int MAGIC = 0x564D534B;
+    private static final int VERSION = 4;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + 2 * Long.BYTES + 4 * Integer.BYTES;
+
+    private Path file;
+    private Path tempFile;
+    private long intervalNanos;
+    private long lastSaveTime;
+    private ByteBuffer buffer;
+
+    public SimulationCheckpoint(String filename, int intervalSeconds) {
+        this.file = Paths.get(filename);
+        this.tempFile = Paths.get(filename + ".tmp");
+        this.intervalNanos = intervalSeconds * 1_000_000_000L;
+        this.lastSaveTime = System.nanoTime();
+    }
+
+    public boolean isDue() {
+        return System.nanoTime() - lastSaveTime >= intervalNanos;
+    }
+
+    public void save(long cycle, Map<Integer, Process> processes, Queue<Process> processQueue,
+            MemoryManager memoryManager, Prefetcher prefetcher) throws IOException {
+        byte[] prefetchName = prefetchName(prefetcher);
+        int size = HEADER_BYTES + prefetchName.length + processQueue.size() * Integer.BYTES
+                + memoryManager.stateBytes();
+        if (prefetcher != null) {
+            size += prefetcher.stateBytes();
+        }
+        for (Process process : processes.values()) {
+            size += process.stateBytes();
+        }
+
+        // El buffer directo se reutiliza entre checkpoints para no generar basura en cada escritura.
+        if (buffer == null || buffer.capacity() < size) {
+            int capacity = (buffer == null) ? size : Math.max(size, buffer.capacity() * 2);
+            buffer = ByteBuffer.allocateDirect(capacity);
+        }
+        buffer.clear();
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(System.nanoTime());
+        buffer.putLong(cycle);
+        buffer.putInt(processes.size());
+        buffer.putInt(memoryManager.getTotalFrames());
+        buffer.putInt(prefetchName.length);
+        buffer.put(prefetchName);
+
+        buffer.putInt(processQueue.size());
+        for (Process process : processQueue) {
+            buffer.putInt(process.getPid());
+        }
+        for (int pid = 0; pid < processes.size(); pid++) {
+            processes.get(pid).writeState(buffer);
+        }
+        memoryManager.writeState(buffer);
+        if (prefetcher != null) {
+            prefetcher.writeState(buffer);
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        lastSaveTime = System.nanoTime();
+    }
+
+    public static long restore(String filename, Map<Integer, Process> processes, Queue<Process> processQueue,
+            MemoryManager memoryManager, Prefetcher prefetcher) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("checkpoint demasiado grande");
+            }
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) == -1) {
+                    break;
+                }
+            }
+        }
+        buffer.flip();
+
+        // Un archivo truncado o dañado no debe salir como BufferUnderflowException y similares.
+        try {
+            return readSnapshot(buffer, processes, processQueue, memoryManager, prefetcher);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("checkpoint corrupto", e);
+        }
+    }
+
+    private static long readSnapshot(ByteBuffer buffer, Map<Integer, Process> processes, Queue<Process> processQueue,
+            MemoryManager memoryManager, Prefetcher prefetcher) throws IOException {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("el archivo no es un checkpoint válido");
+        }
+        if (buffer.getInt() != VERSION) {
+            throw new IOException("versión de checkpoint no soportada");
+        }
+
+        // Los tiempos de acceso vienen de System.nanoTime() de otra JVM; se desplazan para conservar el orden LRU.
+        long timeShift = System.nanoTime() - buffer.getLong();
+        long cycle = buffer.getLong();
+        int numProcesses = buffer.getInt();
+        int totalFrames = buffer.getInt();
+        if (numProcesses != processes.size() || totalFrames != memoryManager.getTotalFrames()) {
+            throw new IOException("el checkpoint corresponde a " + numProcesses + " procesos y "
+                    + totalFrames + " marcos");
+        }
+        int nameLength = buffer.getInt();
+        if (nameLength < 0 || nameLength > buffer.remaining()) {
+            throw new IOException("checkpoint corrupto");
+        }
+        byte[] savedPrefetchName = new byte[nameLength];
+        buffer.get(savedPrefetchName);
+        if (!Arrays.equals(savedPrefetchName, prefetchName(prefetcher))) {
+            throw new IOException("el checkpoint usa la política de prefetch "
+                    + new String(savedPrefetchName, StandardCharsets.UTF_8));
+        }
+
+        processQueue.clear();
+        int queued = buffer.getInt();
+        for (int i = 0; i < queued; i++) {
+            Process process = processes.get(buffer.getInt());
+            if (process == null) {
+                throw new IOException("proceso desconocido en la cola del checkpoint");
+            }
+            processQueue.add(process);
+        }
+        for (int pid = 0; pid < numProcesses; pid++) {
+            processes.get(pid).readState(buffer, timeShift);
+        }
+        memoryManager.readState(buffer, timeShift);
+        if (prefetcher != null) {
+            prefetcher.readState(buffer);
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException("checkpoint corrupto");
+        }
+
+        return cycle;
+    }
+
+    private static byte[] prefetchName(Prefetcher prefetcher) {
+        String name = (prefetcher != null) ? prefetcher.getName() : "ninguno";
+        return name.getBytes(StandardCharsets.UTF_8);
+    }
+}
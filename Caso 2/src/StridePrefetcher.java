@@ -0,0 +1,82 @@
+import java.nio.ByteBuffer;
+import java.util.*;
+
+public class StridePrefetcher implements Prefetcher {
+    private static final int MATRICES = 3;
+
+    private int degree;
+    private Map<Integer, int[]> regions;
+
+    public StridePrefetcher(int degree) {
+        this.degree = degree;
+        this.regions = new HashMap<>();
+    }
+
+    // Se guarda, para cada matriz del proceso, la última página con fallo y la última zancada.
+    // Solo se adelantan páginas cuando la misma zancada aparece dos veces seguidas.
+    @Override
+    public int[] selectPages(Process process, int faultPage) {
+        int[] state = regions.get(process.getPid());
+        if (state == null) {
+            state = new int[2 * MATRICES];
+            for (int i = 0; i < MATRICES; i++) {
+                state[2 * i] = -1;
+            }
+            regions.put(process.getPid(), state);
+        }
+
+        long matrixBytes = (long) process.getNumRows() * process.getNumCols() * 4;
+        int region = (matrixBytes > 0) ? (int) Math.min(MATRICES - 1, (long) faultPage * process.getPageSize() / matrixBytes) : 0;
+        int lastPage = state[2 * region];
+        int lastStride = state[2 * region + 1];
+
+        int[] pages = new int[0];
+        if (lastPage != -1) {
+            int stride = faultPage - lastPage;
+            if (stride != 0 && stride == lastStride) {
+                pages = new int[degree];
+                for (int i = 0; i < degree; i++) {
+                    pages[i] = faultPage + stride * (i + 1);
+                }
+            }
+            state[2 * region + 1] = stride;
+        }
+        state[2 * region] = faultPage;
+        return pages;
+    }
+
+    @Override
+    public String getName() {
+        return "zancada:" + degree;
+    }
+
+    @Override
+    public int stateBytes() {
+        return Integer.BYTES + regions.size() * (1 + 2 * MATRICES) * Integer.BYTES;
+    }
+
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        buffer.putInt(regions.size());
+        for (Map.Entry<Integer, int[]> entry : regions.entrySet()) {
+            buffer.putInt(entry.getKey());
+            for (int value : entry.getValue()) {
+                buffer.putInt(value);
+            }
+        }
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        regions.clear();
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            int pid = buffer.getInt();
+            int[] state = new int[2 * MATRICES];
+            for (int j = 0; j < state.length; j++) {
+                state[j] = buffer.getInt();
+            }
+            regions.put(pid, state);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SweepCoordinator {
+    private static final int MAX_WORKER_RESTARTS = 3;
+    private static final long RESTART_BACKOFF_MILLIS = 500;
+
+    private BlockingDeque<SweepJob> pendingJobs;
+    private AtomicInteger unfinishedJobs;
+    private Map<Integer, String> results;
+    private Set<Integer> liveWorkers;
+    private int maxRetries;
+
+    public void runSweep(String sweepFile) {
+        Properties props = new Properties();
+        try (FileInputStream input = new FileInputStream(sweepFile)) {
+            props.load(input);
+        } catch (IOException e) {
+            System.out.println("Error leyendo archivo de barrido: " + e.getMessage());
+            return;
+        }
+
+        List<SweepJob> jobs;
+        int numWorkers;
+        try {
+            jobs = buildJobs(props);
+            numWorkers = Integer.parseInt(props.getProperty("TRABAJADORES", "2").trim());
+            this.maxRetries = Integer.parseInt(props.getProperty("REINTENTOS", "2").trim());
+        } catch (RuntimeException e) {
+            System.out.println("Error en el archivo de barrido: " + e.getMessage());
+            return;
+        }
+
+        this.pendingJobs = new LinkedBlockingDeque<>(jobs);
+        this.unfinishedJobs = new AtomicInteger(jobs.size());
+        this.results = new ConcurrentHashMap<>();
+        this.liveWorkers = ConcurrentHashMap.newKeySet();
+
+        System.out.println("Barrido: " + jobs.size() + " simulaciones en " + numWorkers + " trabajadores.");
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < numWorkers; i++) {
+            int index = i;
+            List<String> command = workerCommand(props, i);
+            liveWorkers.add(index);
+            Thread thread = new Thread(() -> driveWorker(index, command), "coordinador-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        printResults(jobs, props.getProperty("SALIDA"));
+    }
+
+    private List<SweepJob> buildJobs(Properties props) {
+        String[] pageSizes = requiredList(props, "TPS");
+        String[] processCounts = requiredList(props, "NPROCS");
+        String[] frameCounts = requiredList(props, "MARCOS");
+        String[] matrixSizes = requiredList(props, "TAMS");
+        String[] policies = props.getProperty("POLITICAS", "ninguno").split(",");
+
+        List<SweepJob> jobs = new ArrayList<>();
+        for (String pageSize : pageSizes) {
+            for (String processCount : processCounts) {
+                int numProcesses = Integer.parseInt(processCount.trim());
+                StringBuilder sizes = new StringBuilder();
+                for (int i = 0; i < numProcesses; i++) {
+                    if (i > 0) {
+                        sizes.append(',');
+                    }
+                    sizes.append(matrixSizes[i % matrixSizes.length].trim());
+                }
+
+                for (String frameCount : frameCounts) {
+                    int totalFrames = Integer.parseInt(frameCount.trim());
+                    if (totalFrames % numProcesses != 0) {
+                        continue;
+                    }
+                    for (String policy : policies) {
+                        jobs.add(new SweepJob(jobs.size(), Integer.parseInt(pageSize.trim()), numProcesses,
+                                sizes.toString(), totalFrames, policy.trim()));
+                    }
+                }
+            }
+        }
+        return jobs;
+    }
+
+    private String[] requiredList(Properties props, String key) {
+        String value = props.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("falta " + key);
+        }
+        return value.split(",");
+    }
+
+    // COMANDO_TRABAJADOR.<n> permite lanzar el trabajador n en otra máquina (por ejemplo con ssh);
+    // por defecto se arranca una JVM local con el mismo classpath.
+    private List<String> workerCommand(Properties props, int index) {
+        String custom = props.getProperty("COMANDO_TRABAJADOR." + index, props.getProperty("COMANDO_TRABAJADOR"));
+        if (custom != null && !custom.trim().isEmpty()) {
+            return Arrays.asList(custom.trim().split("\\s+"));
+        }
+
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        return Arrays.asList(java, "-cp", System.getProperty("java.class.path"),
+                "VirtualMemorySimulator", "--worker");
+    }
+
+    private void driveWorker(int index, List<String> command) {
+        try {
+            int restarts = 0;
+
+            while (unfinishedJobs.get() > 0) {
+                java.lang.Process worker;
+                try {
+                    worker = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+                } catch (IOException e) {
+                    System.out.println("Error arrancando trabajador " + index + ": " + e.getMessage());
+                    return;
+                }
+
+                boolean died = serveJobs(index, worker);
+                worker.destroy();
+                if (!died) {
+                    return;
+                }
+
+                restarts++;
+                if (restarts > MAX_WORKER_RESTARTS) {
+                    System.out.println("Trabajador " + index + " abandonado tras " + MAX_WORKER_RESTARTS + " reinicios.");
+                    return;
+                }
+                System.out.println("Trabajador " + index + " caído, reiniciando (" + restarts + "/" +
+                        MAX_WORKER_RESTARTS + ").");
+                // Espera creciente para no relanzar en bucle un trabajador que muere al arrancar.
+                Thread.sleep(RESTART_BACKOFF_MILLIS << (restarts - 1));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            liveWorkers.remove(index);
+            abandonOrphanedJobs();
+        }
+    }
+
+    // Devuelve true si el trabajador murió (o perdió el protocolo) y hay que reiniciarlo.
+    private boolean serveJobs(int index, java.lang.Process worker) {
+        PrintWriter toWorker = new PrintWriter(new OutputStreamWriter(worker.getOutputStream()), true);
+        BufferedReader fromWorker = new BufferedReader(new InputStreamReader(worker.getInputStream()));
+
+        while (unfinishedJobs.get() > 0) {
+            SweepJob job;
+            try {
+                job = pendingJobs.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (job == null) {
+                continue;
+            }
+            if (job.crashedOn.contains(index)) {
+                // Este trabajador ya se cayó con esta simulación: se deja para otro que siga vivo.
+                if (!job.crashedOn.containsAll(liveWorkers)) {
+                    pendingJobs.addLast(job);
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                    continue;
+                }
+                discard(job, "hizo caer a todos los trabajadores");
+                continue;
+            }
+
+            String reply;
+            try {
+                toWorker.println(job.toCommand());
+                reply = toWorker.checkError() ? null : fromWorker.readLine();
+            } catch (IOException e) {
+                reply = null;
+            }
+
+            if (reply == null) {
+                // Las caídas no cuentan como intentos: la simulación pasa a otro trabajador.
+                job.crashedOn.add(index);
+                System.out.println("Simulación " + job.id + " pendiente: el trabajador " + index +
+                        " terminó inesperadamente.");
+                pendingJobs.addLast(job);
+                return true;
+            }
+
+            String[] parts = reply.split("\\s+", 3);
+            if (parts[0].equals("RESULTADO") && parts.length == 3) {
+                if (!parts[1].equals(String.valueOf(job.id))) {
+                    retry(job, "respuesta de otra simulación (" + parts[1] + ")");
+                    return true;
+                }
+                results.put(job.id, parts[2]);
+                unfinishedJobs.decrementAndGet();
+            } else {
+                retry(job, reply);
+            }
+        }
+
+        toWorker.println("FIN");
+        return false;
+    }
+
+    private void retry(SweepJob job, String reason) {
+        job.attempts++;
+        if (job.attempts <= maxRetries) {
+            System.out.println("Reintentando simulación " + job.id + " (" + reason + ").");
+            pendingJobs.addLast(job);
+        } else {
+            discard(job, reason + " (" + job.attempts + " intentos)");
+        }
+    }
+
+    private void discard(SweepJob job, String reason) {
+        System.out.println("Simulación " + job.id + " descartada: " + reason);
+        unfinishedJobs.decrementAndGet();
+    }
+
+    // Sin trabajadores vivos nadie va a atender lo que quede en la cola.
+    private synchronized void abandonOrphanedJobs() {
+        if (!liveWorkers.isEmpty()) {
+            return;
+        }
+        SweepJob job;
+        while ((job = pendingJobs.poll()) != null) {
+            discard(job, "sin trabajadores disponibles");
+        }
+    }
+
+    private void printResults(List<SweepJob> jobs, String outputFile) {
+        String header = "TP,NPROC,TAMS,MARCOS,POLITICA,REFERENCIAS,FALLOS,TASA_FALLOS,SWAP,PF_UTILES,PF_DESPERDICIADAS";
+        List<String> rows = new ArrayList<>();
+
+        for (SweepJob job : jobs) {
+            String result = results.get(job.id);
+            String row = job.pageSize + "," + job.numProcesses + "," + job.matrixSizes.replace(',', ';') + ","
+                    + job.totalFrames + "," + job.policy + ",";
+            if (result == null) {
+                row += "ERROR,,,,,";
+            } else {
+                String[] values = result.split(" ");
+                long references = Long.parseLong(values[0]);
+                long faults = Long.parseLong(values[1]);
+                double faultRate = (references > 0) ? (double) faults / references * 100 : 0;
+                row += references + "," + faults + "," + String.format(Locale.ROOT, "%.4f", faultRate) + ","
+                        + values[2] + "," + values[3] + "," + values[4];
+            }
+            rows.add(row);
+        }
+
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RESULTADOS DEL BARRIDO");
+        System.out.println("=".repeat(60));
+        System.out.println(header);
+        for (String row : rows) {
+            System.out.println(row);
+        }
+
+        if (outputFile != null) {
+            try (PrintWriter writer = new PrintWriter(new FileWriter(outputFile.trim()))) {
+                writer.println(header);
+                for (String row : rows) {
+                    writer.println(row);
+                }
+                System.out.println("Resultados guardados en " + outputFile.trim());
+            } catch (IOException e) {
+                System.out.println("Error escribiendo " + outputFile + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static class SweepJob {
+        int id;
+        int pageSize;
+        int numProcesses;
+        String matrixSizes;
+        int totalFrames;
+        String policy;
+        int attempts;
+        Set<Integer> crashedOn = ConcurrentHashMap.newKeySet();
+
+        SweepJob(int id, int pageSize, int numProcesses, String matrixSizes, int totalFrames, String policy) {
+            this.id = id;
+            this.pageSize = pageSize;
+            this.numProcesses = numProcesses;
+            this.matrixSizes = matrixSizes;
+            this.totalFrames = totalFrames;
+            this.policy = policy;
+        }
+
+        String toCommand() {
+            return "TRABAJO " + id + " " + pageSize + " " + matrixSizes + " " + totalFrames + " " + policy;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+import java.io.*;
+import java.util.*;
+
+public class SweepWorker {
+    // Tope de memoria directa para trazas guardadas entre trabajos; se expulsan las menos usadas.
+    private static final long TRACE_CACHE_BYTES = 256L << 20;
+
+    private LinkedHashMap<Integer, TraceStore> traces = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedTraceBytes;
+
+    // Protocolo por líneas sobre stdin/stdout:
+    //   TRABAJO <id> <tp> <tams> <marcos> <politica>
+    //   RESULTADO <id> <referencias> <fallos> <swap> <prefetch_utiles> <prefetch_desperdiciadas>
+    //   ERROR <id> <mensaje>
+    //   FIN
+    public void serve() throws IOException {
+        PrintStream protocol = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                if (parts[0].equals("FIN")) {
+                    break;
+                }
+                if (!parts[0].equals("TRABAJO") || parts.length < 6) {
+                    protocol.println("ERROR - linea invalida: " + line);
+                    protocol.flush();
+                    continue;
+                }
+
+                String jobId = parts[1];
+                try {
+                    protocol.println("RESULTADO " + jobId + " " + runJob(parts));
+                } catch (RuntimeException e) {
+                    protocol.println("ERROR " + jobId + " " + e);
+                }
+                protocol.flush();
+            }
+        } finally {
+            System.setOut(protocol);
+        }
+    }
+
+    private String runJob(String[] parts) {
+        int pageSize = Integer.parseInt(parts[2]);
+        String[] matrixSizes = parts[3].split(",");
+        int totalFrames = Integer.parseInt(parts[4]);
+        String policy = parts[5];
+
+        ReferenceGenerator generator = new ReferenceGenerator();
+        Map<Integer, Process> processes = new HashMap<>();
+        for (int i = 0; i < matrixSizes.length; i++) {
+            int matrixSize = Integer.parseInt(matrixSizes[i]);
+            // Las direcciones no dependen del tamaño de página: todos los trabajos con la misma matriz
+            // comparten una única traza fuera del heap a través de vistas de solo lectura.
+            TraceStore trace = traces.get(matrixSize);
+            if (trace == null) {
+                trace = generator.createTrace(matrixSize, matrixSize);
+                traces.put(matrixSize, trace);
+                cachedTraceBytes += allocatedBytes(trace);
+            }
+            Process process = new Process(i, pageSize, matrixSize, matrixSize);
+            process.setTrace(trace);
+            processes.put(i, process);
+        }
+
+        trimTraceCache(matrixSizes);
+
+        ExecutionSimulator executor = new ExecutionSimulator();
+        if (!policy.equals("ninguno")) {
+            executor.setPrefetcher(Prefetcher.create(policy));
+        }
+        executor.simulateProcesses(processes, totalFrames);
+
+        long references = 0, faults = 0, swap = 0, useful = 0, wasted = 0;
+        for (Process process : processes.values()) {
+            references += process.getTotalReferences();
+            faults += process.getPageFaults();
+            swap += process.getSwapAccesses();
+            useful += process.getUsefulPrefetches();
+            wasted += process.getWastedPrefetches();
+        }
+        return references + " " + faults + " " + swap + " " + useful + " " + wasted;
+    }
+
+    // Las trazas del trabajo en curso nunca se expulsan, aunque superen el tope por sí solas.
+    private void trimTraceCache(String[] inUse) {
+        Set<Integer> keep = new HashSet<>();
+        for (String size : inUse) {
+            keep.add(Integer.parseInt(size));
+        }
+
+        Iterator<Map.Entry<Integer, TraceStore>> it = traces.entrySet().iterator();
+        while (cachedTraceBytes > TRACE_CACHE_BYTES && it.hasNext()) {
+            Map.Entry<Integer, TraceStore> entry = it.next();
+            if (!keep.contains(entry.getKey())) {
+                cachedTraceBytes -= allocatedBytes(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    private static long allocatedBytes(TraceStore trace) {
+        return (long) trace.getChunkCount() * trace.getChunkSize() * Integer.BYTES;
+    }
+}
@@ -0,0 +1,47 @@
+import java.io.*;
+import java.util.*;
+
+public class TimingModel {
+    private long hitCost;
+    private long faultServiceTime;
+    private long swapInCost;
+    private long swapOutCost;
+    private long quantum;
+
+    public TimingModel(long hitCost, long faultServiceTime, long swapInCost, long swapOutCost, long quantum) {
+        if (hitCost <= 0 || quantum <= 0) {
+            throw new IllegalArgumentException("ACIERTO_NS y QUANTUM_NS deben ser positivos");
+        }
+        this.hitCost = hitCost;
+        this.faultServiceTime = faultServiceTime;
+        this.swapInCost = swapInCost;
+        this.swapOutCost = swapOutCost;
+        this.quantum = quantum;
+    }
+
+    public static TimingModel load(String filename) throws IOException {
+        Properties props = new Properties();
+        try (FileInputStream input = new FileInputStream(filename)) {
+            props.load(input);
+        }
+
+        return new TimingModel(
+                Long.parseLong(props.getProperty("ACIERTO_NS", "100").trim()),
+                Long.parseLong(props.getProperty("FALLO_NS", "10000").trim()),
+                Long.parseLong(props.getProperty("SWAP_ENTRADA_NS", "2000000").trim()),
+                Long.parseLong(props.getProperty("SWAP_SALIDA_NS", "2000000").trim()),
+                Long.parseLong(props.getProperty("QUANTUM_NS", "100000").trim()));
+    }
+
+    public long getHitCost() {
+        return hitCost;
+    }
+
+    public long getFaultServiceTime(long swapReads, long swapWrites) {
+        return faultServiceTime + swapReads * swapInCost + swapWrites * swapOutCost;
+    }
+
+    public long getQuantum() {
+        return quantum;
+    }
+}
@@ -0,0 +1,75 @@
+import java.nio.ByteBuffer;
+
+public class TraceKernel {
+    private static final TraceKernel INSTANCE = load();
+
+    // La versión vectorial (src/vector) solo se usa si se compiló y la JVM arrancó con
+    // --add-modules jdk.incubator.vector; si no, queda esta implementación escalar.
+    private static TraceKernel load() {
+        try {
+            return (TraceKernel) Class.forName("VectorTraceKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new TraceKernel();
+        }
+    }
+
+    public static TraceKernel get() {
+        return INSTANCE;
+    }
+
+    public String getName() {
+        return "escalar";
+    }
+
+    // Cuenta las direcciones de la traza cuya página (dirección >> pageShift) es distinta de la anterior.
+    public final long countPageChanges(TraceStore trace, int pageShift) {
+        long changes = 0;
+        int previousPage = -1;
+        for (int chunk = 0; chunk < trace.getChunkCount(); chunk++) {
+            ByteBuffer buffer = trace.getChunk(chunk);
+            int length = trace.getChunkLength(chunk);
+            changes += countPageChanges(buffer, 0, length, pageShift, previousPage);
+            previousPage = buffer.getInt((length - 1) << 2) >> pageShift;
+        }
+        return changes;
+    }
+
+    // Primer índice desde from cuya dirección queda fuera de [low, high], o el tamaño de la traza.
+    public final long findRangeEnd(TraceStore trace, long from, int low, int high) {
+        int chunkSize = trace.getChunkSize();
+        long index = from;
+        while (index < trace.size()) {
+            int chunk = (int) (index / chunkSize);
+            int offset = (int) (index % chunkSize);
+            int length = trace.getChunkLength(chunk);
+            int end = findRangeEnd(trace.getChunk(chunk), offset, length, low, high);
+            index += end - offset;
+            if (end < length) {
+                break;
+            }
+        }
+        return index;
+    }
+
+    protected long countPageChanges(ByteBuffer addresses, int from, int to, int pageShift, int previousPage) {
+        long changes = 0;
+        for (int i = from; i < to; i++) {
+            int page = addresses.getInt(i << 2) >> pageShift;
+            if (page != previousPage) {
+                changes++;
+                previousPage = page;
+            }
+        }
+        return changes;
+    }
+
+    protected int findRangeEnd(ByteBuffer addresses, int from, int to, int low, int high) {
+        for (int i = from; i < to; i++) {
+            int address = addresses.getInt(i << 2);
+            if (address < low || address > high) {
+                return i;
+            }
+        }
+        return to;
+    }
+}
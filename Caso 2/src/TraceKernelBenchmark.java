@@ -0,0 +1,129 @@
+import java.nio.ByteBuffer;
+import java.util.*;
+
+public class TraceKernelBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+
+    private TraceStore trace;
+    private int pageSize;
+    private int rounds;
+
+    public TraceKernelBenchmark(TraceStore trace, int pageSize, int rounds) {
+        this.trace = trace;
+        this.pageSize = pageSize;
+        this.rounds = rounds;
+    }
+
+    // Uso: java [--add-modules jdk.incubator.vector] TraceKernelBenchmark [filas] [columnas] [tam_pagina] [rondas]
+    public static void main(String[] args) {
+        int numRows = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+        int numCols = (args.length > 1) ? Integer.parseInt(args[1]) : 2000;
+        int pageSize = (args.length > 2) ? Integer.parseInt(args[2]) : 4096;
+        int rounds = (args.length > 3) ? Integer.parseInt(args[3]) : 10;
+
+        if (Integer.bitCount(pageSize) != 1) {
+            System.out.println("Error: El tamaño de página debe ser potencia de 2");
+            return;
+        }
+
+        TraceStore trace = new ReferenceGenerator().createTrace(numRows, numCols);
+        System.out.println("Traza de " + trace.size() + " direcciones, páginas de " + pageSize + " bytes, " +
+                rounds + " rondas.");
+
+        TraceKernelBenchmark benchmark = new TraceKernelBenchmark(trace, pageSize, rounds);
+        List<TraceKernel> kernels = new ArrayList<>();
+        kernels.add(new TraceKernel());
+        if (TraceKernel.get().getClass() != TraceKernel.class) {
+            kernels.add(TraceKernel.get());
+        } else {
+            System.out.println("Kernel vectorial no disponible (falta --add-modules jdk.incubator.vector).");
+        }
+
+        // La versión con división es la referencia: cada kernel debe dar exactamente el mismo resultado.
+        System.out.println("\nCambios de página:");
+        long expectedChanges = benchmark.countChangesByDivision();
+        benchmark.measure("división", benchmark::countChangesByDivision, expectedChanges);
+        for (TraceKernel kernel : kernels) {
+            int pageShift = Integer.numberOfTrailingZeros(pageSize);
+            benchmark.measure(kernel.getName(), () -> kernel.countPageChanges(trace, pageShift), expectedChanges);
+        }
+
+        System.out.println("\nRachas (misma página):");
+        long expectedRuns = benchmark.countRunsByDivision();
+        benchmark.measure("división", benchmark::countRunsByDivision, expectedRuns);
+        for (TraceKernel kernel : kernels) {
+            benchmark.measure(kernel.getName(), () -> benchmark.countRuns(kernel), expectedRuns);
+        }
+    }
+
+    private void measure(String name, Workload workload, long expected) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            if (workload.run() != expected) {
+                throw new IllegalStateException(name + " no coincide con la versión con división");
+            }
+        }
+
+        long best = Long.MAX_VALUE;
+        long total = 0;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            long value = workload.run();
+            long elapsed = System.nanoTime() - start;
+            if (value != expected) {
+                throw new IllegalStateException(name + " no coincide con la versión con división");
+            }
+            best = Math.min(best, elapsed);
+            total += elapsed;
+        }
+
+        System.out.println(String.format("  %-40s resultado %d, mejor %.2f ms, media %.2f ms, %.0f M direcciones/s",
+                name, expected, best / 1e6, total / 1e6 / rounds, trace.size() / (best / 1e3)));
+    }
+
+    // Igual que el análisis de localidad original: una división por dirección.
+    private long countChangesByDivision() {
+        long changes = 0;
+        int currentPage = -1;
+        for (int chunk = 0; chunk < trace.getChunkCount(); chunk++) {
+            ByteBuffer buffer = trace.getChunk(chunk);
+            int length = trace.getChunkLength(chunk);
+            for (int i = 0; i < length; i++) {
+                int page = buffer.getInt(i << 2) / pageSize;
+                if (page != currentPage) {
+                    changes++;
+                    currentPage = page;
+                }
+            }
+        }
+        return changes;
+    }
+
+    private long countRunsByDivision() {
+        long runs = 0;
+        long index = 0;
+        while (index < trace.size()) {
+            int page = trace.get(index) / pageSize;
+            index++;
+            while (index < trace.size() && trace.get(index) / pageSize == page) {
+                index++;
+            }
+            runs++;
+        }
+        return runs;
+    }
+
+    private long countRuns(TraceKernel kernel) {
+        long runs = 0;
+        long index = 0;
+        while (index < trace.size()) {
+            int low = trace.get(index) & -pageSize;
+            index = kernel.findRangeEnd(trace, index + 1, low, low + pageSize - 1);
+            runs++;
+        }
+        return runs;
+    }
+
+    private interface Workload {
+        long run();
+    }
+}
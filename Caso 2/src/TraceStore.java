@@ -0,0 +1,81 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+
+public class TraceStore {
+    private static final int MAX_CHUNK_SHIFT = 28;
+    private static final int MIN_CHUNK_SHIFT = 12;
+
+    private final List<ByteBuffer> chunks;
+    private final int chunkShift;
+    private final int chunkMask;
+    private final boolean readOnly;
+    private long size;
+
+    // Las direcciones se guardan fuera del heap en bloques directos de hasta 2^28 enteros (1 GiB),
+    // así una traza puede superar tanto el heap como el límite de 2 GiB de un ByteBuffer.
+    public TraceStore(long expectedSize) {
+        int shift = MIN_CHUNK_SHIFT;
+        while (shift < MAX_CHUNK_SHIFT && (1L << shift) < expectedSize) {
+            shift++;
+        }
+        this.chunks = new ArrayList<>();
+        this.chunkShift = shift;
+        this.chunkMask = (1 << shift) - 1;
+        this.readOnly = false;
+        this.size = 0;
+    }
+
+    private TraceStore(TraceStore source) {
+        this.chunks = new ArrayList<>(source.chunks.size());
+        for (ByteBuffer chunk : source.chunks) {
+            chunks.add(chunk.asReadOnlyBuffer().order(ByteOrder.nativeOrder()));
+        }
+        this.chunkShift = source.chunkShift;
+        this.chunkMask = source.chunkMask;
+        this.readOnly = true;
+        this.size = source.size;
+    }
+
+    public void add(int address) {
+        if (readOnly) {
+            throw new UnsupportedOperationException("vista de solo lectura");
+        }
+        int offset = (int) (size & chunkMask);
+        if (offset == 0) {
+            chunks.add(ByteBuffer.allocateDirect((1 << chunkShift) * Integer.BYTES).order(ByteOrder.nativeOrder()));
+        }
+        chunks.get(chunks.size() - 1).putInt(offset << 2, address);
+        size++;
+    }
+
+    public int get(long index) {
+        return chunks.get((int) (index >>> chunkShift)).getInt(((int) index & chunkMask) << 2);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // Vista de solo lectura que comparte la misma memoria: no copia las direcciones.
+    public TraceStore view() {
+        return readOnly ? this : new TraceStore(this);
+    }
+
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    public ByteBuffer getChunk(int chunk) {
+        return chunks.get(chunk);
+    }
+
+    public int getChunkSize() {
+        return 1 << chunkShift;
+    }
+
+    public int getChunkLength(int chunk) {
+        long start = (long) chunk << chunkShift;
+        return (int) Math.min(1L << chunkShift, size - start);
+    }
+}
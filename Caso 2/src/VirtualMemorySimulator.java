@@ -1,22 +1,94 @@
+import java.io.IOException;
 
 public class VirtualMemorySimulator {
+    private static final int DEFAULT_CHECKPOINT_SECONDS = 5;
 
     public static void main(String[] args) {
+        VirtualMemorySimulator simulator = new VirtualMemorySimulator();
+        simulator.execute(args);
+    }
+
+    public void execute(String[] args) {
         if (args.length < 1) {
             System.out.println("Uso: java VirtualMemorySimulator <opcion> [parametros]");
             System.out.println("Opcion 1: -g <archivo_config>");
-            System.out.println("Opcion 2: -s <num_procesos> <num_marcos>");
+            System.out.println("Opcion 2: -s <num_procesos> <num_marcos> [--checkpoint <archivo> [segundos]] [--resume <archivo>] [--prefetch <politica>] [--tiempos <archivo>] [--compartidas <archivo>] [--niveles <archivo>] [--por-referencia]");
+            System.out.println("Opcion 3: -p <archivo_config> <num_marcos>");
+            System.out.println("Opcion 4: -d <archivo_barrido>");
+            System.out.println("Opcion 5: --batch | --servidor <puerto>");
             return;
         }
 
-        VirtualMemorySimulator simulator = new VirtualMemorySimulator();
-
         if (args[0].equals("-g") && args.length >= 2) {
-            simulator.generateReferences(args[1]);
+            generateReferences(args[1]);
         } else if (args[0].equals("-s") && args.length >= 3) {
             int numProcesses = Integer.parseInt(args[1]);
             int totalFrames = Integer.parseInt(args[2]);
-            simulator.simulateExecution(numProcesses, totalFrames);
+            ExecutionSimulator executor = new ExecutionSimulator();
+
+            for (int i = 3; i < args.length; i++) {
+                if (args[i].equals("--checkpoint") && i + 1 < args.length) {
+                    String filename = args[++i];
+                    int intervalSeconds = DEFAULT_CHECKPOINT_SECONDS;
+                    if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                        intervalSeconds = Integer.parseInt(args[++i]);
+                    }
+                    executor.setCheckpointFile(filename, intervalSeconds);
+                } else if (args[i].equals("--resume") && i + 1 < args.length) {
+                    executor.setResumeFile(args[++i]);
+                } else if (args[i].equals("--prefetch") && i + 1 < args.length) {
+                    try {
+                        executor.setPrefetcher(Prefetcher.create(args[++i]));
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Error: " + e.getMessage());
+                        return;
+                    }
+                } else if (args[i].equals("--tiempos") && i + 1 < args.length) {
+                    try {
+                        executor.setTimingModel(TimingModel.load(args[++i]));
+                    } catch (IOException | IllegalArgumentException e) {
+                        System.out.println("Error leyendo modelo de tiempos: " + e.getMessage());
+                        return;
+                    }
+                } else if (args[i].equals("--compartidas") && i + 1 < args.length) {
+                    try {
+                        executor.loadSharedRegions(args[++i]);
+                    } catch (IOException | IllegalArgumentException e) {
+                        System.out.println("Error leyendo páginas compartidas: " + e.getMessage());
+                        return;
+                    }
+                } else if (args[i].equals("--niveles") && i + 1 < args.length) {
+                    try {
+                        executor.setMemoryTiers(MemoryTiers.load(args[++i]));
+                    } catch (IOException | IllegalArgumentException e) {
+                        System.out.println("Error leyendo niveles de memoria: " + e.getMessage());
+                        return;
+                    }
+                } else if (args[i].equals("--por-referencia")) {
+                    executor.setBatchRuns(false);
+                } else {
+                    System.out.println("Parametro desconocido: " + args[i]);
+                    return;
+                }
+            }
+
+            executor.simulate(numProcesses, totalFrames);
+        } else if (args[0].equals("-p") && args.length >= 3) {
+            int totalFrames = Integer.parseInt(args[2]);
+            simulatePipelined(args[1], totalFrames);
+        } else if (args[0].equals("-d") && args.length >= 2) {
+            SweepCoordinator coordinator = new SweepCoordinator();
+            coordinator.runSweep(args[1]);
+        } else if (args[0].equals("--worker")) {
+            try {
+                new SweepWorker().serve();
+            } catch (IOException e) {
+                System.err.println("Error en el trabajador: " + e.getMessage());
+            }
+        } else if (args[0].equals("--batch")) {
+            new BatchServer(this).serveStdin();
+        } else if (args[0].equals("--servidor") && args.length >= 2) {
+            new BatchServer(this).serveSocket(Integer.parseInt(args[1]));
         } else {
             System.out.println("Parametros incorrectos");
         }
@@ -31,4 +103,9 @@ public class VirtualMemorySimulator {
         ExecutionSimulator executor = new ExecutionSimulator();
         executor.simulate(numProcesses, totalFrames);
     }
+
+    public void simulatePipelined(String configFile, int totalFrames) {
+        ExecutionSimulator executor = new ExecutionSimulator();
+        executor.simulatePipelined(configFile, totalFrames);
+    }
 }
\ No newline at end of file
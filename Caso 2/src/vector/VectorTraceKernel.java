@@ -0,0 +1,52 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+public class VectorTraceKernel extends TraceKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public String getName() {
+        return "vectorial (" + SPECIES.length() + " enteros por operación)";
+    }
+
+    // Compara cada bloque de páginas con el mismo bloque desplazado una posición: cada línea distinta es un cambio.
+    @Override
+    protected long countPageChanges(ByteBuffer addresses, int from, int to, int pageShift, int previousPage) {
+        if (from >= to) {
+            return 0;
+        }
+        long changes = super.countPageChanges(addresses, from, from + 1, pageShift, previousPage);
+        int i = from + 1;
+        int upper = i + SPECIES.loopBound(to - i);
+        for (; i < upper; i += SPECIES.length()) {
+            IntVector pages = IntVector.fromByteBuffer(SPECIES, addresses, i << 2, ByteOrder.nativeOrder())
+                    .lanewise(VectorOperators.ASHR, pageShift);
+            IntVector previous = IntVector.fromByteBuffer(SPECIES, addresses, (i - 1) << 2, ByteOrder.nativeOrder())
+                    .lanewise(VectorOperators.ASHR, pageShift);
+            changes += pages.compare(VectorOperators.NE, previous).trueCount();
+        }
+        if (i < to) {
+            changes += super.countPageChanges(addresses, i, to, pageShift, addresses.getInt((i - 1) << 2) >> pageShift);
+        }
+        return changes;
+    }
+
+    @Override
+    protected int findRangeEnd(ByteBuffer addresses, int from, int to, int low, int high) {
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; i < upper; i += SPECIES.length()) {
+            IntVector block = IntVector.fromByteBuffer(SPECIES, addresses, i << 2, ByteOrder.nativeOrder());
+            VectorMask<Integer> outside = block.compare(VectorOperators.LT, low)
+                    .or(block.compare(VectorOperators.GT, high));
+            if (outside.anyTrue()) {
+                return i + outside.firstTrue();
+            }
+        }
+        return super.findRangeEnd(addresses, i, to, low, high);
+    }
+}